@@ -0,0 +1,99 @@
+package org.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt with a target cost factor. Unlike {@link BCryptPasswordEncoder#upgradeEncoding}, a hash
+ * is reported as outdated whenever its cost differs from the target, so lowering the cost
+ * also takes effect for existing users as they log in.
+ */
+public class AdaptiveBcryptPasswordEncoder implements PasswordEncoder
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveBcryptPasswordEncoder.class);
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+
+    private final int cost;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBcryptPasswordEncoder(int cost)
+    {
+        this.cost = cost;
+        this.delegate = new BCryptPasswordEncoder(cost);
+    }
+
+    /**
+     * Picks the highest cost whose hash takes at most the given time on this machine.
+     * Each cost step doubles the work, so this measures one hash per step until the target is passed.
+     *
+     * @param targetMillis The time one hash should take.
+     * @return An encoder with the calibrated cost, between 10 and 16.
+     */
+    public static AdaptiveBcryptPasswordEncoder calibrated(long targetMillis)
+    {
+        new BCryptPasswordEncoder(MIN_COST).encode("warm-up"); // Keep JIT compilation out of the first measurement
+
+        int chosen = MIN_COST;
+        for (int candidate = MIN_COST; candidate <= MAX_COST; candidate++)
+        {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode("calibration");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis > targetMillis)
+            {
+                break;
+            }
+            chosen = candidate;
+        }
+
+        LOGGER.info("Calibrated BCrypt cost {} for a target of {} ms per hash", chosen, targetMillis);
+        return new AdaptiveBcryptPasswordEncoder(chosen);
+    }
+
+    public int getCost()
+    {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword)
+    {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword)
+    {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword)
+    {
+        int storedCost = parseCost(encodedPassword);
+        return storedCost > 0 && storedCost != cost;
+    }
+
+    /**
+     * @param encodedPassword A BCrypt hash such as `$2a$12$...`.
+     * @return The cost factor of the hash, or -1 if it isn't a BCrypt hash.
+     */
+    static int parseCost(String encodedPassword)
+    {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$')
+        {
+            return -1;
+        }
+        try
+        {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e)
+        {
+            return -1;
+        }
+    }
+}
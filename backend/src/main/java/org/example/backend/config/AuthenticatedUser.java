@@ -0,0 +1,39 @@
+package org.example.backend.config;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Principal built from the verified claims of a stateless token, so controllers can use the
+ * user ID without looking the user up. `getName()` returns the username, like the
+ * UserDetails principal used for regular tokens.
+ */
+public class AuthenticatedUser implements Principal
+{
+    private final String id;
+    private final String username;
+    private final Set<String> roles;
+
+    public AuthenticatedUser(String id, String username, Set<String> roles)
+    {
+        this.id = id;
+        this.username = username;
+        this.roles = Set.copyOf(roles);
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    @Override
+    public String getName()
+    {
+        return username;
+    }
+
+    public Set<String> getRoles()
+    {
+        return roles;
+    }
+}
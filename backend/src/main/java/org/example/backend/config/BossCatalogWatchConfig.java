@@ -0,0 +1,35 @@
+package org.example.backend.config;
+
+import org.bson.Document;
+import org.example.backend.service.BossCatalog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+
+/**
+ * Reloads the boss catalog whenever the `bosses` collection changes.
+ * Change streams need a replica set, so this is opt-in; without it, use the admin reload endpoint.
+ */
+@Configuration
+@ConditionalOnProperty(name = "questify.boss.catalog.watch", havingValue = "true")
+public class BossCatalogWatchConfig
+{
+    @Bean
+    public MessageListenerContainer bossCatalogListenerContainer(MongoTemplate mongoTemplate, BossCatalog bossCatalog)
+    {
+        MessageListenerContainer container = new DefaultMessageListenerContainer(mongoTemplate);
+
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder()
+                .collection("bosses")
+                .publishTo(message -> bossCatalog.reload())
+                .build();
+        container.register(request, Document.class);
+        container.start();
+
+        return container;
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.backend.config;
 
+import org.example.backend.service.TokenAuthenticationCache;
+import org.example.backend.service.TokenRevocationRegistry;
 import org.example.backend.service.TokenValidationService;
 import org.example.backend.util.JwtUtil;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,16 +13,23 @@ public class JwtAuthenticationFilterFactory
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenAuthenticationCache authenticationCache;
+    private final TokenRevocationRegistry revocationRegistry;
 
-    public JwtAuthenticationFilterFactory(JwtUtil jwtUtil, UserDetailsService userDetailsService)
+    public JwtAuthenticationFilterFactory(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                          TokenAuthenticationCache authenticationCache,
+                                          TokenRevocationRegistry revocationRegistry)
     {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.authenticationCache = authenticationCache;
+        this.revocationRegistry = revocationRegistry;
     }
 
     public JwtAuthenticationFilter create()
     {
-        TokenValidationService tokenValidationService = new TokenValidationService(jwtUtil, userDetailsService);
+        TokenValidationService tokenValidationService =
+                new TokenValidationService(jwtUtil, userDetailsService, authenticationCache, revocationRegistry);
         return new JwtAuthenticationFilter(tokenValidationService);
     }
 }
@@ -0,0 +1,117 @@
+package org.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the MongoClient, under `questify.mongo.client`.
+ * Anything left unset keeps the value from the connection string, or the driver default.
+ */
+@ConfigurationProperties(prefix = "questify.mongo.client")
+public class MongoClientProperties
+{
+    private String database = "Questify";
+    private Integer minPoolSize;
+    private Integer maxPoolSize;          // Size against the request threads (server.tomcat.threads.max)
+    private Duration maxWaitTime;         // How long a request waits for a free connection
+    private Duration connectTimeout;
+    private Duration socketTimeout;
+    private List<String> compressors = new ArrayList<>(); // zstd, snappy, zlib, in order of preference
+    private String readPreference;        // e.g. primary, primaryPreferred, secondaryPreferred
+    private String writeConcern;          // e.g. majority, w1, acknowledged
+
+
+    // Getters and Setters
+    public String getDatabase()
+    {
+        return database;
+    }
+
+    public void setDatabase(String database)
+    {
+        this.database = database;
+    }
+
+    public Integer getMinPoolSize()
+    {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(Integer minPoolSize)
+    {
+        this.minPoolSize = minPoolSize;
+    }
+
+    public Integer getMaxPoolSize()
+    {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Integer maxPoolSize)
+    {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Duration getMaxWaitTime()
+    {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(Duration maxWaitTime)
+    {
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    public Duration getConnectTimeout()
+    {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout)
+    {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getSocketTimeout()
+    {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(Duration socketTimeout)
+    {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public List<String> getCompressors()
+    {
+        return compressors;
+    }
+
+    public void setCompressors(List<String> compressors)
+    {
+        this.compressors = compressors;
+    }
+
+    public String getReadPreference()
+    {
+        return readPreference;
+    }
+
+    public void setReadPreference(String readPreference)
+    {
+        this.readPreference = readPreference;
+    }
+
+    public String getWriteConcern()
+    {
+        return writeConcern;
+    }
+
+    public void setWriteConcern(String writeConcern)
+    {
+        this.writeConcern = writeConcern;
+    }
+}
@@ -1,47 +1,138 @@
 package org.example.backend.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.entity.User;
 import org.example.backend.entity.UserBossProgress;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.event.EventListener;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
-import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties(MongoClientProperties.class)
 public class MongoConfig
 {
     @Value("${spring.data.mongodb.uri}")
     private String mongoUri;
 
     @Bean
-    public MongoClient mongoClient()
+    public MongoClient mongoClient(MongoClientProperties properties, MeterRegistry meterRegistry)
+    {
+        return MongoClients.create(clientSettings(mongoUri, properties, new MongoPoolMetricsListener(meterRegistry)));
+    }
+
+    @Bean
+    public MongoDatabaseFactory mongoDatabaseFactory(MongoClient mongoClient, MongoClientProperties properties)
+    {
+        return new SimpleMongoClientDatabaseFactory(mongoClient, properties.getDatabase());
+    }
+
+    // Starts from the connection string and overrides only what is configured
+    static MongoClientSettings clientSettings(String uri, MongoClientProperties properties,
+                                              ConnectionPoolListener poolListener)
+    {
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri));
+
+        settings.applyToConnectionPoolSettings(pool ->
+        {
+            if (properties.getMinPoolSize() != null)
+            {
+                pool.minSize(properties.getMinPoolSize());
+            }
+            if (properties.getMaxPoolSize() != null)
+            {
+                pool.maxSize(properties.getMaxPoolSize());
+            }
+            if (properties.getMaxWaitTime() != null)
+            {
+                pool.maxWaitTime(properties.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            pool.addConnectionPoolListener(poolListener);
+        });
+
+        settings.applyToSocketSettings(socket ->
+        {
+            if (properties.getConnectTimeout() != null)
+            {
+                socket.connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (properties.getSocketTimeout() != null)
+            {
+                socket.readTimeout(properties.getSocketTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+
+        if (!properties.getCompressors().isEmpty())
+        {
+            settings.compressorList(properties.getCompressors().stream()
+                    .map(MongoConfig::compressor)
+                    .toList());
+        }
+        if (properties.getReadPreference() != null)
+        {
+            settings.readPreference(ReadPreference.valueOf(properties.getReadPreference()));
+        }
+        if (properties.getWriteConcern() != null)
+        {
+            WriteConcern writeConcern = WriteConcern.valueOf(properties.getWriteConcern());
+            if (writeConcern == null)
+            {
+                throw new IllegalArgumentException("Unknown write concern: " + properties.getWriteConcern());
+            }
+            settings.writeConcern(writeConcern);
+        }
+
+        return settings.build();
+    }
+
+    // snappy and zstd need their codec library (snappy-java, zstd-jni) on the classpath; zlib is built in
+    private static MongoCompressor compressor(String name)
     {
-        return MongoClients.create(mongoUri);
+        return switch (name.trim().toLowerCase(Locale.ROOT))
+        {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+        };
     }
 
+    /**
+     * Runs once all singletons exist, which is before the web server starts, so no request can
+     * save a versioned document while older documents still lack the field.
+     */
     @Bean
-    public MongoDatabaseFactory mongoDatabaseFactory(MongoClient mongoClient)
+    public SmartInitializingSingleton versionBackfill(MongoTemplate mongoTemplate)
     {
-        return new SimpleMongoClientDatabaseFactory(mongoClient, "Questify");
+        return () -> backfillVersions(mongoTemplate);
     }
 
-    @EventListener(ApplicationReadyEvent.class)
-    public void initIndicesAfterStartup(ApplicationReadyEvent event)
+    private static void backfillVersions(MongoTemplate mongoTemplate)
     {
-        MongoTemplate mongoTemplate = event.getApplicationContext().getBean(MongoTemplate.class);
-
-        // Create compound index for UserBossProgress
-        mongoTemplate.indexOps(UserBossProgress.class)
-                .ensureIndex(new Index()
-                        .on("userId", Sort.Direction.ASC)
-                        .on("bossId", Sort.Direction.ASC)
-                        .unique());
+        // Documents written before @Version was introduced have no version field.
+        // Spring Data would treat them as new and try to insert them again, so start them at 0.
+        Query unversioned = Query.query(Criteria.where("version").exists(false));
+        Update initialVersion = Update.update("version", 0L);
+        mongoTemplate.updateMulti(unversioned, initialVersion, User.class);
+        mongoTemplate.updateMulti(unversioned, initialVersion, UserBossProgress.class);
     }
 }
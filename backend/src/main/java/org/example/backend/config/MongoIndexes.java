@@ -0,0 +1,148 @@
+package org.example.backend.config;
+
+import org.bson.Document;
+import org.example.backend.entity.Habit;
+import org.example.backend.entity.Task;
+import org.example.backend.entity.User;
+import org.example.backend.entity.UserBossProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The secondary indexes the repositories' queries rely on. They are created at startup and then
+ * checked against what the database actually has, e.g. a unique index can't be built while the
+ * collection holds duplicates. Mismatches are logged, or stop the startup with fail-fast.
+ */
+@Component
+public class MongoIndexes
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexes.class);
+
+    // Named explicitly, since duplicate key errors identify the violated index only by its name
+    public static final String USER_USERNAME_INDEX = "users_username_unique";
+    public static final String USER_EMAIL_INDEX = "users_email_unique";
+
+    private static final List<IndexSpec> INDEXES = List.of(
+            // findByUsername, existsByUsername, and registration races
+            new IndexSpec(User.class, new Index().on("username", Sort.Direction.ASC).unique()
+                    .named(USER_USERNAME_INDEX)),
+            // existsByEmail; sparse, so accounts without an email don't collide on null
+            new IndexSpec(User.class, new Index().on("email", Sort.Direction.ASC).unique().sparse()
+                    .named(USER_EMAIL_INDEX)),
+            // findTokenRevocationsSince; sparse, only revoked users have the field
+            new IndexSpec(User.class, new Index().on("tokensRevokedBefore", Sort.Direction.ASC).sparse()),
+            // findByUserIdAndDueDate, and findByUserId through the prefix
+            new IndexSpec(Task.class, new Index().on("userId", Sort.Direction.ASC).on("dueDate", Sort.Direction.ASC)),
+            // findByUserId
+            new IndexSpec(Habit.class, new Index().on("userId", Sort.Direction.ASC)),
+            // findByUserIdAndBossId, one progress per user and boss
+            new IndexSpec(UserBossProgress.class, new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("bossId", Sort.Direction.ASC)
+                    .unique())
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean failFast;
+
+    public MongoIndexes(MongoTemplate mongoTemplate,
+                        @Value("${questify.mongo.indexes.fail-fast:false}") boolean failFast)
+    {
+        this.mongoTemplate = mongoTemplate;
+        this.failFast = failFast;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void ensureIndexesAtStartup()
+    {
+        for (IndexSpec spec : INDEXES)
+        {
+            try
+            {
+                mongoTemplate.indexOps(spec.entity()).ensureIndex(spec.index());
+            } catch (DataAccessException e)
+            {
+                // Reported by the verification below
+                LOGGER.warn("Could not create index {} on {}", spec.index().getIndexKeys().toJson(),
+                        collection(spec), e);
+            }
+        }
+
+        List<String> missing = verify();
+        if (missing.isEmpty())
+        {
+            LOGGER.info("Verified {} Mongo indexes", INDEXES.size());
+            return;
+        }
+        if (failFast)
+        {
+            throw new IllegalStateException("Missing Mongo indexes: " + String.join(", ", missing));
+        }
+        LOGGER.warn("Missing Mongo indexes, affected queries scan their collection: {}", String.join(", ", missing));
+    }
+
+    /**
+     * @return The declared indexes the database doesn't have, with matching keys and options.
+     */
+    public List<String> verify()
+    {
+        List<String> missing = new ArrayList<>();
+        for (IndexSpec spec : INDEXES)
+        {
+            List<IndexInfo> existing = mongoTemplate.indexOps(spec.entity()).getIndexInfo();
+            if (existing.stream().noneMatch(info -> matches(info, spec.index())))
+            {
+                missing.add(collection(spec) + spec.index().getIndexKeys().toJson());
+            }
+        }
+        return missing;
+    }
+
+    private static boolean matches(IndexInfo info, Index index)
+    {
+        Document keys = index.getIndexKeys();
+        List<IndexField> fields = info.getIndexFields();
+        Document options = index.getIndexOptions();
+        if (fields.size() != keys.size()
+                || info.isUnique() != options.getBoolean("unique", false)
+                || info.isSparse() != options.getBoolean("sparse", false)
+                || options.containsKey("name") && !options.getString("name").equals(info.getName()))
+        {
+            return false;
+        }
+
+        int position = 0;
+        for (String key : keys.keySet())
+        {
+            IndexField field = fields.get(position++);
+            Sort.Direction direction = keys.getInteger(key) > 0 ? Sort.Direction.ASC : Sort.Direction.DESC;
+            if (!field.getKey().equals(key) || field.getDirection() != direction)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String collection(IndexSpec spec)
+    {
+        return mongoTemplate.getCollectionName(spec.entity());
+    }
+
+    private record IndexSpec(Class<?> entity, Index index)
+    {
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.backend.config;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool metrics: how long requests wait to check out a connection, and how many
+ * connections are open and in use. A growing wait with in-use at the maximum means the pool
+ * is too small for the number of request threads.
+ */
+public class MongoPoolMetricsListener implements ConnectionPoolListener
+{
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final Timer checkoutWait;
+    private final Counter checkoutFailures;
+
+    public MongoPoolMetricsListener(MeterRegistry meterRegistry)
+    {
+        Gauge.builder("questify.mongo.pool.open", open, AtomicInteger::get)
+                .description("Open connections in the Mongo pool")
+                .register(meterRegistry);
+        Gauge.builder("questify.mongo.pool.in-use", inUse, AtomicInteger::get)
+                .description("Mongo connections checked out by requests")
+                .register(meterRegistry);
+        this.checkoutWait = Timer.builder("questify.mongo.pool.checkout.wait")
+                .description("Time spent waiting for a Mongo connection")
+                .register(meterRegistry);
+        this.checkoutFailures = Counter.builder("questify.mongo.pool.checkout.failed")
+                .description("Checkouts that failed, e.g. after the max wait time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event)
+    {
+        open.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event)
+    {
+        open.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event)
+    {
+        inUse.incrementAndGet();
+        checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event)
+    {
+        checkoutFailures.increment();
+        checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event)
+    {
+        inUse.decrementAndGet();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.backend.config;
+
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.example.backend.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive Mongo access for the non-blocking boss combat API, enabled with the `reactive-combat` profile.
+ * The reactive client has its own connection pool, configured by the same `questify.mongo.client`
+ * settings as the blocking one. The reactive auto-configuration is excluded in BackendApplication,
+ * so without the profile no second client is created.
+ */
+@Configuration
+@Profile(ReactiveMongoConfig.PROFILE)
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveUserRepository.class,
+        reactiveMongoTemplateRef = "reactiveMongoTemplate")
+public class ReactiveMongoConfig
+{
+    public static final String PROFILE = "reactive-combat";
+
+    @Value("${spring.data.mongodb.uri}")
+    private String mongoUri;
+
+    @Bean
+    public MongoClient reactiveMongoClient(MongoClientProperties properties)
+    {
+        // No pool metrics here, the questify.mongo.pool gauges belong to the blocking client
+        return MongoClients.create(MongoConfig.clientSettings(mongoUri, properties, new ConnectionPoolListener()
+        {
+        }));
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient,
+                                                       MongoClientProperties properties,
+                                                       MappingMongoConverter mappingMongoConverter)
+    {
+        // Shares the mapping and conversions of the blocking MongoTemplate
+        return new ReactiveMongoTemplate(
+                new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, properties.getDatabase()),
+                mappingMongoConverter);
+    }
+}
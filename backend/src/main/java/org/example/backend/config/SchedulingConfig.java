@@ -0,0 +1,14 @@
+package org.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled jobs, e.g. the nightly task reset. Each job can be switched off
+ * with its own `enabled` property.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig
+{
+}
@@ -1,6 +1,9 @@
 package org.example.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.example.backend.service.TokenValidationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,8 +13,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
@@ -56,8 +57,11 @@ public class SecurityConfig
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of Mono results were authorized as the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers(PUBLIC_URLS).permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -110,9 +114,21 @@ public class SecurityConfig
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder()
+    public BoundedPasswordEncoder passwordEncoder(@Value("${questify.auth.bcrypt.cost:12}") int cost,
+                                                  @Value("${questify.auth.bcrypt.target-ms:0}") long targetMillis,
+                                                  @Value("${questify.auth.bcrypt.threads:0}") int threads,
+                                                  @Value("${questify.auth.bcrypt.queue-capacity:64}") int queueCapacity,
+                                                  @Value("${questify.auth.bcrypt.retry-after-seconds:2}") long retryAfterSeconds,
+                                                  MeterRegistry meterRegistry)
     {
-        return new BCryptPasswordEncoder(12); // Higher strength (default is 10)
+        // A target time picks the cost for this hardware; otherwise the fixed cost (default 12, BCrypt's own is 10)
+        AdaptiveBcryptPasswordEncoder bcrypt = targetMillis > 0
+                ? AdaptiveBcryptPasswordEncoder.calibrated(targetMillis)
+                : new AdaptiveBcryptPasswordEncoder(cost);
+
+        // Hashing runs on its own bounded pool, so a login storm can't take every request thread
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,30 @@
+package org.example.backend.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * UserDetails of a user loaded from the database. Remembers whether the stored password hash
+ * is outdated, since the hash itself is erased from the principal once a login succeeds.
+ */
+public class StoredUserDetails extends User
+{
+    private final boolean passwordUpgradeNeeded;
+
+    public StoredUserDetails(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                             boolean passwordUpgradeNeeded)
+    {
+        super(username, password, authorities);
+        this.passwordUpgradeNeeded = passwordUpgradeNeeded;
+    }
+
+    /**
+     * @return Whether the stored hash should be rehashed to the configured BCrypt cost.
+     */
+    public boolean isPasswordUpgradeNeeded()
+    {
+        return passwordUpgradeNeeded;
+    }
+}
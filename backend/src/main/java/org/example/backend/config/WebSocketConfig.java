@@ -1,6 +1,9 @@
 package org.example.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -11,16 +14,45 @@ import org.springframework.web.socket.config.annotation.WebSocketTransportRegist
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer
 {
+    private final boolean virtualThreads;
+
+    public WebSocketConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config)
     {
         config.enableSimpleBroker("/topic");
         config.setApplicationDestinationPrefixes("/app");
+        // Messages to a session are handed to separate threads, keep them in order
+        config.setPreservePublishOrder(virtualThreads);
+    }
+
+    // With virtual threads, STOMP messages run on a virtual thread each instead of the fixed channel pools
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration)
+    {
+        if (virtualThreads)
+        {
+            registration.executor(virtualThreadExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration)
+    {
+        if (virtualThreads)
+        {
+            registration.executor(virtualThreadExecutor("stomp-outbound-"));
+        }
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry)
     {
+        registry.setPreserveReceiveOrder(virtualThreads);
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("http://localhost:5173")
                 .withSockJS()
@@ -37,4 +69,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer
                 .setSendTimeLimit(20 * 1000);
     }
 
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix)
+    {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
 }
@@ -0,0 +1,51 @@
+package org.example.backend.controller;
+
+import org.example.backend.service.BossCatalog;
+import org.example.backend.service.TokenRevocationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+
+/**
+ * Maintenance endpoints, restricted to users with the ADMIN role (see SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminController.class);
+    private final BossCatalog bossCatalog;
+    private final TokenRevocationRegistry revocationRegistry;
+
+    public AdminController(BossCatalog bossCatalog, TokenRevocationRegistry revocationRegistry)
+    {
+        this.bossCatalog = Objects.requireNonNull(bossCatalog, "BossCatalog must not be null");
+        this.revocationRegistry = Objects.requireNonNull(revocationRegistry, "TokenRevocationRegistry must not be null");
+    }
+
+    @PostMapping("/bosses/reload")
+    @ResponseStatus(HttpStatus.OK)
+    public String reloadBossCatalog(Authentication authentication)
+    {
+        LOGGER.info("Boss catalog reload requested by {}", authentication.getName());
+        int bossCount = bossCatalog.reload();
+        return String.format("Boss catalog reloaded with %d bosses", bossCount);
+    }
+
+    @PostMapping("/users/{username}/revoke-tokens")
+    @ResponseStatus(HttpStatus.OK)
+    public String revokeTokens(Authentication authentication, @PathVariable String username)
+    {
+        LOGGER.info("Token revocation for {} requested by {}", username, authentication.getName());
+        revocationRegistry.revokeAll(username);
+        return String.format("All tokens issued to %s so far are revoked", username);
+    }
+}
@@ -3,17 +3,25 @@ package org.example.backend.controller;
 import org.example.backend.dto.AuthenticationRequest;
 import org.example.backend.dto.AuthenticationResponse;
 import org.example.backend.dto.RegisterRequest;
+import org.example.backend.dto.UserSummary;
+import org.example.backend.exceptions.PasswordHashingUnavailableException;
 import org.example.backend.exceptions.UserAlreadyExistsException;
+import org.example.backend.service.PasswordRehashService;
 import org.example.backend.service.UserService;
 import org.example.backend.util.JwtUtil;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController
@@ -22,12 +30,15 @@ public class AuthController
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final PasswordRehashService passwordRehashService;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserService userService)
+    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserService userService,
+                          PasswordRehashService passwordRehashService)
     {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userService = userService;
+        this.passwordRehashService = passwordRehashService;
     }
 
     @PostMapping("/login")
@@ -35,15 +46,20 @@ public class AuthController
     public AuthenticationResponse login(@RequestBody AuthenticationRequest request)
     {
         logger.info("Login request received for username: {}", request.getUsername());
-        logger.info("Password received for username: {}", request.getPassword());
 
         try
         {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
-            String token = jwtUtil.generateToken(auth.getName());
-            logger.info("Authentication successful. JWT token generated: {}", token);
+            String token = generateToken(auth);
+            logger.info("Authentication successful for username: {}", auth.getName());
+
+            // Brings an outdated stored hash to the configured BCrypt cost, off the request thread
+            if (auth.getPrincipal() instanceof UserDetails user)
+            {
+                passwordRehashService.rehashIfNeeded(user, request.getPassword());
+            }
             return new AuthenticationResponse(token);
         } catch (Exception ex)
         {
@@ -52,6 +68,22 @@ public class AuthController
         }
     }
 
+    private String generateToken(Authentication auth)
+    {
+        if (!jwtUtil.isStatelessPrincipal())
+        {
+            return jwtUtil.generateToken(auth.getName());
+        }
+
+        // Stateless tokens carry the user ID and roles, looked up once here instead of on every request
+        UserSummary user = userService.getUserBasicDetails(auth.getName());
+        List<String> roles = auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .toList();
+        return jwtUtil.generateToken(auth.getName(), user.getId(), roles);
+    }
+
         @ResponseStatus(HttpStatus.OK) // 200 OK, user registered successfully
         @PostMapping("/register")
         public ResponseEntity<?> register (@RequestBody RegisterRequest request)
@@ -65,6 +97,9 @@ public class AuthController
                         request.getPassword()
                 );
                 return ResponseEntity.ok("Registration successful!");
+            } catch (PasswordHashingUnavailableException e)
+            {
+                throw e; // Answered with 503 below, not as a bad request
             } catch (Exception e)
             {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -73,10 +108,24 @@ public class AuthController
 
 
         @ExceptionHandler({AuthenticationException.class})
-        @ResponseStatus(HttpStatus.UNAUTHORIZED) // 401 Unauthorized for invalid credentials
-        public AuthenticationResponse handleAuthenticationException (AuthenticationException ex)
+        public ResponseEntity<?> handleAuthenticationException (AuthenticationException ex)
+        {
+            // For an unknown username Spring still hashes against timing attacks and wraps a saturated pool
+            if (ex.getCause() instanceof PasswordHashingUnavailableException unavailable)
+            {
+                return handlePasswordHashingUnavailableException(unavailable);
+            }
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED) // 401 Unauthorized for invalid credentials
+                    .body(new AuthenticationResponse("Invalid credentials"));
+        }
+
+        @ExceptionHandler({PasswordHashingUnavailableException.class})
+        public ResponseEntity<String> handlePasswordHashingUnavailableException (PasswordHashingUnavailableException ex)
         {
-            return new AuthenticationResponse("Invalid credentials");
+            logger.warn("Password hashing pool saturated: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(ex.getMessage());
         }
 
         @ExceptionHandler({UserAlreadyExistsException.class})
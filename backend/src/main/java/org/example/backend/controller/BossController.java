@@ -3,10 +3,13 @@ package org.example.backend.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
+import org.example.backend.config.AuthenticatedUser;
+import org.example.backend.dto.BatchAttackResponse;
+import org.example.backend.dto.BatchDamageRequest;
 import org.example.backend.dto.BossResponse;
 import org.example.backend.dto.DamageRequest;
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.Boss;
-import org.example.backend.entity.User;
 import org.example.backend.service.BossService;
 import org.example.backend.service.UserService;
 import org.slf4j.Logger;
@@ -39,7 +42,7 @@ public class BossController
     public BossResponse getActiveBoss(Authentication authentication)
     {
         LOGGER.debug("Getting active boss for user: {}", authentication.getName());
-        User user = getUserFromAuthentication(authentication);
+        UserSummary user = getUserFromAuthentication(authentication);
         validateActiveBoss(user);
         return bossService.getActiveBoss(user.getId());
     }
@@ -51,8 +54,17 @@ public class BossController
             @Valid @RequestBody DamageRequest damageRequest)
     {
         LOGGER.debug("Processing attack from user: {}", authentication.getName());
-        User user = getUserFromAuthentication(authentication);
-        return bossService.dealDamage(user.getId(), damageRequest.getDamage());
+        return bossService.dealDamage(getUserId(authentication), damageRequest.getDamage());
+    }
+
+    @PutMapping("/attack/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchAttackResponse attackBossBatch(
+            Authentication authentication,
+            @Valid @RequestBody BatchDamageRequest batchRequest)
+    {
+        LOGGER.debug("Processing {}-hit combo from user: {}", batchRequest.getHits().size(), authentication.getName());
+        return bossService.dealDamageBatch(getUserId(authentication), batchRequest.getHits());
     }
 
     @GetMapping("/selection")
@@ -60,8 +72,8 @@ public class BossController
     public List<Boss> getBossSelection(Authentication authentication)
     {
         LOGGER.debug("Getting boss selection for user: {}", authentication.getName());
-        getUserFromAuthentication(authentication); // Validate user exists
-        return bossService.getBossSelection();
+        UserSummary user = getUserFromAuthentication(authentication);
+        return bossService.getBossSelection(user.getLevel());
     }
 
     @PostMapping("/select/{bossId}")
@@ -71,13 +83,13 @@ public class BossController
             @PathVariable @NotBlank(message = "Boss ID cannot be empty") String bossId)
     {
         LOGGER.debug("User {} selecting boss: {}", authentication.getName(), bossId);
-        User user = getUserFromAuthentication(authentication);
+        String userId = getUserId(authentication);
         Boss boss = validateAndGetBoss(bossId);
 
-        initializeBossForUser(user, boss);
+        initializeBossForUser(userId, boss);
 
         return String.format("Boss '%s' successfully selected for user %s",
-                boss.getName(), user.getUsername());
+                boss.getName(), authentication.getName());
     }
 
     @PostMapping("/fight/{bossId}")
@@ -93,7 +105,7 @@ public class BossController
         throw new IllegalStateException("Could not start fight. Please try again.");
     }
 
-    private User getUserFromAuthentication(Authentication authentication)
+    private UserSummary getUserFromAuthentication(Authentication authentication)
     {
         if (authentication == null)
         {
@@ -102,7 +114,17 @@ public class BossController
         return userService.getUserBasicDetails(authentication.getName());
     }
 
-    private void validateActiveBoss(User user)
+    // Stateless tokens already carry the user ID; otherwise resolve it from the username
+    private String getUserId(Authentication authentication)
+    {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal)
+        {
+            return principal.getId();
+        }
+        return getUserFromAuthentication(authentication).getId();
+    }
+
+    private void validateActiveBoss(UserSummary user)
     {
         if (user.getCurrentBossId() == null)
         {
@@ -122,11 +144,10 @@ public class BossController
         return boss;
     }
 
-    private void initializeBossForUser(User user, Boss boss)
+    private void initializeBossForUser(String userId, Boss boss)
     {
-        bossService.initializeUserBossProgress(user.getId(), boss.getId(), boss.getMaxHealth());
-        user.setCurrentBossId(boss.getId());
-        userService.saveUser(user);
+        bossService.initializeUserBossProgress(userId, boss.getId(), boss.getMaxHealth());
+        userService.updateUser(userId, selected -> selected.setCurrentBossId(boss.getId()));
     }
 
     @ExceptionHandler({IllegalArgumentException.class})
@@ -0,0 +1,105 @@
+package org.example.backend.controller;
+
+import jakarta.validation.Valid;
+
+import org.example.backend.config.ReactiveMongoConfig;
+import org.example.backend.dto.BossResponse;
+import org.example.backend.dto.DamageRequest;
+import org.example.backend.dto.UserSummary;
+import org.example.backend.entity.Boss;
+import org.example.backend.service.ReactiveBossService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Non-blocking variant of the combat endpoints of {@link BossController}, enabled with the
+ * `reactive-combat` profile. It runs in the same servlet stack: returning a Mono releases the
+ * request thread while Mongo is queried, and the response is written on an async dispatch.
+ */
+@RestController
+@RequestMapping("/api/reactive/boss")
+@Profile(ReactiveMongoConfig.PROFILE)
+@Validated
+public class ReactiveBossController
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveBossController.class);
+    private final ReactiveBossService reactiveBossService;
+
+    public ReactiveBossController(ReactiveBossService reactiveBossService)
+    {
+        this.reactiveBossService = Objects.requireNonNull(reactiveBossService, "ReactiveBossService must not be null");
+    }
+
+    @GetMapping("/active")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BossResponse> getActiveBoss(Authentication authentication)
+    {
+        LOGGER.debug("Getting active boss for user: {}", authentication.getName());
+        return getUserFromAuthentication(authentication)
+                .doOnNext(this::validateActiveBoss)
+                .flatMap(reactiveBossService::getActiveBoss);
+    }
+
+    @PutMapping("/attack")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BossResponse> attackBoss(
+            Authentication authentication,
+            @Valid @RequestBody DamageRequest damageRequest)
+    {
+        LOGGER.debug("Processing attack from user: {}", authentication.getName());
+        return getUserFromAuthentication(authentication)
+                .flatMap(user -> reactiveBossService.dealDamage(user, damageRequest.getDamage()));
+    }
+
+    @GetMapping("/selection")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<Boss>> getBossSelection(Authentication authentication)
+    {
+        LOGGER.debug("Getting boss selection for user: {}", authentication.getName());
+        return getUserFromAuthentication(authentication)
+                .map(user -> reactiveBossService.getBossSelection(user.getLevel()));
+    }
+
+    private Mono<UserSummary> getUserFromAuthentication(Authentication authentication)
+    {
+        if (authentication == null)
+        {
+            return Mono.error(new IllegalArgumentException("Authentication cannot be null"));
+        }
+        return reactiveBossService.getUserSummary(authentication.getName());
+    }
+
+    private void validateActiveBoss(UserSummary user)
+    {
+        if (user.getCurrentBossId() == null)
+        {
+            LOGGER.warn("No active boss found for user: {}", user.getUsername());
+            throw new IllegalStateException("NO_ACTIVE_BOSS");
+        }
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleIllegalArgumentException(IllegalArgumentException ex)
+    {
+        LOGGER.warn("Bad request: {}", ex.getMessage());
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler({IllegalStateException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleIllegalStateException(IllegalStateException ex)
+    {
+        LOGGER.warn("Conflict: {}", ex.getMessage());
+        return ex.getMessage();
+    }
+}
@@ -3,17 +3,19 @@ package org.example.backend.controller;
 import org.example.backend.dto.TaskCreationRequest;
 import org.example.backend.dto.TaskResponse;
 import org.example.backend.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskController.class);
 
     private final TaskService taskService;
 
@@ -34,9 +36,8 @@ public class TaskController
     @ResponseStatus(HttpStatus.OK) // 200 OK, successfully retrieved tasks
     public List<TaskResponse> getAllTasks(Authentication authentication)
     {
-        System.out.println("GET /tasks called at: " + LocalDateTime.now());
-
         String userId = authentication.getName(); // Extract user ID from the authentication context
+        LOGGER.debug("GET /tasks called by user: {}", userId);
 
         // Retrieve all tasks for the user
         return taskService.getAllTasksForUser(userId);
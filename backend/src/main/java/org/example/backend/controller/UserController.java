@@ -1,6 +1,7 @@
 package org.example.backend.controller;
 
 import org.example.backend.dto.UpdateUserRequest;
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.User;
 import org.example.backend.service.UserService;
 import org.springframework.http.HttpStatus;
@@ -21,7 +22,7 @@ public class UserController
     // Fetch basic user details (for small display containers)
     @GetMapping("/details/{userId}")
     @ResponseStatus(HttpStatus.OK) // 200 OK, user details fetched successfully
-    public User getUserBasicDetails(@PathVariable String userId)
+    public UserSummary getUserBasicDetails(@PathVariable String userId)
     {
         return userService.getUserBasicDetails(userId);
     }
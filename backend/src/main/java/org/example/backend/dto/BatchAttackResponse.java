@@ -0,0 +1,62 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+public class BatchAttackResponse
+{
+    private final BossResponse boss;
+    private final List<HitResult> hits;
+
+    public BatchAttackResponse(BossResponse boss, List<HitResult> hits)
+    {
+        this.boss = boss;
+        this.hits = hits;
+    }
+
+    // Result of a single hit within the combo
+    public static class HitResult
+    {
+        private final int damage;
+        private final int remainingHealth; // Boss health right after this hit
+        private final boolean landed;      // False if the boss was already defeated before this hit
+        private final boolean defeatingHit;
+
+        public HitResult(int damage, int remainingHealth, boolean landed, boolean defeatingHit)
+        {
+            this.damage = damage;
+            this.remainingHealth = remainingHealth;
+            this.landed = landed;
+            this.defeatingHit = defeatingHit;
+        }
+
+        public int getDamage()
+        {
+            return damage;
+        }
+
+        public int getRemainingHealth()
+        {
+            return remainingHealth;
+        }
+
+        public boolean isLanded()
+        {
+            return landed;
+        }
+
+        public boolean isDefeatingHit()
+        {
+            return defeatingHit;
+        }
+    }
+
+    public BossResponse getBoss()
+    {
+        return boss;
+    }
+
+    public List<HitResult> getHits()
+    {
+        return hits;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchDamageRequest
+{
+    @NotEmpty(message = "At least one hit is required")
+    @Size(max = 100, message = "A combo can contain at most 100 hits")
+    private List<@NotNull @Positive Integer> hits; // Damage of each hit, in the order they land
+
+    // Getters and Setters
+    public List<Integer> getHits()
+    {
+        return hits;
+    }
+
+    public void setHits(List<Integer> hits)
+    {
+        this.hits = hits;
+    }
+}
@@ -17,10 +17,15 @@ public class BossResponse
 
     // Constructor with Boss and UserBossProgress
     public BossResponse(Boss boss, UserBossProgress progress) {
+        this(boss, progress, false);
+    }
+
+    // Bosses come from the shared catalog, so the level-up flag goes on a copy of the rewards
+    public BossResponse(Boss boss, UserBossProgress progress, boolean causedLevelUp) {
         this.id = boss.getId();
         this.name = boss.getName();
         this.maxHealth = boss.getMaxHealth();
-        this.rewards = boss.getRewards();
+        this.rewards = copyRewards(boss.getRewards(), causedLevelUp);
         this.rare = boss.isRare();
         this.levelRequirement = boss.getLevelRequirement();
 
@@ -34,6 +39,18 @@ public class BossResponse
         }
     }
 
+    private static Rewards copyRewards(Rewards source, boolean causedLevelUp) {
+        if (source == null) {
+            return null;
+        }
+        Rewards copy = new Rewards();
+        copy.setGold(source.getGold());
+        copy.setXp(source.getXp());
+        copy.setBadge(source.getBadge());
+        copy.setCausedLevelUp(causedLevelUp);
+        return copy;
+    }
+
     // Add all getters (no setters needed for DTO)
     public String getId() {
         return id;
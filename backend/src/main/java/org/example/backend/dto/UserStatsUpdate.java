@@ -1,5 +1,7 @@
 package org.example.backend.dto;
 
+import org.example.backend.entity.User;
+
 public class UserStatsUpdate
 {
     private String userId;
@@ -14,6 +16,12 @@ public class UserStatsUpdate
         this.level = level;
     }
 
+    // Every producer sends the user ID, so coalesced updates look the same whichever came last
+    public static UserStatsUpdate of(User user)
+    {
+        return new UserStatsUpdate(user.getId(), user.getGold(), user.getLevel());
+    }
+
     public String getUserId()
     {
         return userId;
@@ -0,0 +1,65 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.User;
+
+/**
+ * Read-only view of the fields most call sites need from a user.
+ * Used as a projection, so Mongo only returns these fields instead of the whole document
+ * (no password hash, roles, badges or timestamps).
+ */
+public class UserSummary
+{
+    private final String id;
+    private final String username;
+    private final int level;
+    private final int experience;
+    private final int gold;
+    private final String currentBossId;
+
+
+    public UserSummary(String id, String username, int level, int experience, int gold, String currentBossId)
+    {
+        this.id = id;
+        this.username = username;
+        this.level = level;
+        this.experience = experience;
+        this.gold = gold;
+        this.currentBossId = currentBossId;
+    }
+
+    public static UserSummary of(User user)
+    {
+        return new UserSummary(user.getId(), user.getUsername(), user.getLevel(), user.getExperience(),
+                user.getGold(), user.getCurrentBossId());
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public String getUsername()
+    {
+        return username;
+    }
+
+    public int getLevel()
+    {
+        return level;
+    }
+
+    public int getExperience()
+    {
+        return experience;
+    }
+
+    public int getGold()
+    {
+        return gold;
+    }
+
+    public String getCurrentBossId()
+    {
+        return currentBossId;
+    }
+}
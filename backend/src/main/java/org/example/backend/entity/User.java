@@ -1,8 +1,11 @@
 package org.example.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -15,7 +18,8 @@ public class User
     private String id;               // Unique ID for the user
     private String username;         // Display name for the user
     private String email;            // Email for authentication
-    private String password;         // Hashed password
+    @JsonIgnore
+    private String password;         // Hashed password, never serialized into responses
     private Set<String> roles;       // Roles associated with the user (like ADMIN, USER)
     private int level;               // Current level of the user
     private int experience;          // Total XP earned
@@ -25,6 +29,10 @@ public class User
     private LocalDateTime updatedAt; // Last activity timestamp
     private int gold = 0;
     private Set<String> badges = new HashSet<>();
+    @Version
+    private Long version;            // Optimistic locking, bumped on every save
+    @JsonIgnore
+    private Instant tokensRevokedBefore; // Tokens issued before this second are rejected on every replica
 
 
     // Default constructor
@@ -186,4 +194,24 @@ public class User
         return badges;
     }
 
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(Long version)
+    {
+        this.version = version;
+    }
+
+    public Instant getTokensRevokedBefore()
+    {
+        return tokensRevokedBefore;
+    }
+
+    public void setTokensRevokedBefore(Instant tokensRevokedBefore)
+    {
+        this.tokensRevokedBefore = tokensRevokedBefore;
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.example.backend.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -18,6 +19,9 @@ public class UserBossProgress
     private boolean defeated;
     private LocalDateTime lastUpdated;
 
+    @Version
+    private Long version;     // Optimistic locking, also bumped by the atomic damage update
+
     // Default constructor
     public UserBossProgress()
     {
@@ -64,6 +68,11 @@ public class UserBossProgress
         return lastUpdated;
     }
 
+    public Long getVersion()
+    {
+        return version;
+    }
+
     // Setters
     public void setId(String id)
     {
@@ -94,4 +103,9 @@ public class UserBossProgress
     {
         this.lastUpdated = lastUpdated;
     }
+
+    public void setVersion(Long version)
+    {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.example.backend.exceptions;
+
+// Thrown when the password hashing pool is saturated; callers should retry after the given delay
+public class PasswordHashingUnavailableException extends RuntimeException
+{
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds)
+    {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+}
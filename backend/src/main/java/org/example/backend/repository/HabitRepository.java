@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface HabitRepository extends MongoRepository<Habit, String>
+public interface HabitRepository extends MongoRepository<Habit, String>, HabitRepositoryCustom
 {
     List<Habit> findByUserId(String userId); // Retrieve all habits for a user
 }
\ No newline at end of file
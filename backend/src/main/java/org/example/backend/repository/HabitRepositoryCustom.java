@@ -0,0 +1,14 @@
+package org.example.backend.repository;
+
+public interface HabitRepositoryCustom
+{
+    /**
+     * Marks the habits of one frequency that were last completed before the start of the
+     * current period as open again, in one update. Streaks and completion dates are kept.
+     *
+     * @param frequency   DAILY or WEEKLY, matched case-insensitively.
+     * @param periodStart The first day of the current period as YYYY-MM-DD.
+     * @return The number of habits that were reset.
+     */
+    long resetCompletedBefore(String frequency, String periodStart);
+}
@@ -0,0 +1,31 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.Habit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.regex.Pattern;
+
+public class HabitRepositoryImpl implements HabitRepositoryCustom
+{
+    private final MongoTemplate mongoTemplate;
+
+    public HabitRepositoryImpl(MongoTemplate mongoTemplate)
+    {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long resetCompletedBefore(String frequency, String periodStart)
+    {
+        // Dates are stored as YYYY-MM-DD, so string order is date order
+        Query staleCompletions = Query.query(Criteria.where("completed").is(true)
+                .and("frequency").regex("^" + Pattern.quote(frequency) + "$", "i")
+                .and("lastCompletedDate").lt(periodStart));
+
+        return mongoTemplate.updateMulti(staleCompletions, Update.update("completed", false), Habit.class)
+                .getModifiedCount();
+    }
+}
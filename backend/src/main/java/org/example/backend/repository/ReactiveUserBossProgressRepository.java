@@ -0,0 +1,14 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.UserBossProgress;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserBossProgressRepository}, only created with the
+ * `reactive-combat` profile (see ReactiveMongoConfig).
+ */
+public interface ReactiveUserBossProgressRepository extends ReactiveMongoRepository<UserBossProgress, String>, ReactiveUserBossProgressRepositoryCustom
+{
+    Mono<UserBossProgress> findByUserIdAndBossId(String userId, String bossId);
+}
@@ -0,0 +1,21 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.UserBossProgress;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserBossProgressRepositoryCustom
+{
+    /**
+     * Same conditional update as {@link UserBossProgressRepositoryCustom#applyDamage}.
+     *
+     * @return The progress as it was before the damage, or empty if there is no undefeated progress.
+     */
+    Mono<UserBossProgress> applyDamage(String userId, String bossId, int damage);
+
+    /**
+     * Same upsert as {@link UserBossProgressRepositoryCustom#findOrCreate}.
+     *
+     * @return The existing progress, or the newly created one at full health.
+     */
+    Mono<UserBossProgress> findOrCreate(String userId, String bossId, int maxHealth);
+}
@@ -0,0 +1,36 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.UserBossProgress;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+public class ReactiveUserBossProgressRepositoryImpl implements ReactiveUserBossProgressRepositoryCustom
+{
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveUserBossProgressRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate)
+    {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<UserBossProgress> applyDamage(String userId, String bossId, int damage)
+    {
+        return reactiveMongoTemplate.findAndModify(
+                UserBossProgressRepositoryImpl.undefeatedProgress(userId, bossId),
+                UserBossProgressRepositoryImpl.damageUpdate(damage),
+                FindAndModifyOptions.options().returnNew(false),
+                UserBossProgress.class);
+    }
+
+    @Override
+    public Mono<UserBossProgress> findOrCreate(String userId, String bossId, int maxHealth)
+    {
+        return reactiveMongoTemplate.findAndModify(
+                UserBossProgressRepositoryImpl.progress(userId, bossId),
+                UserBossProgressRepositoryImpl.createWhenMissing(maxHealth),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                UserBossProgress.class);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.backend.repository;
+
+import org.example.backend.dto.UserSummary;
+import org.example.backend.entity.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository}, only created with the
+ * `reactive-combat` profile (see ReactiveMongoConfig).
+ */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom
+{
+    // DTO projection: only the fields of UserSummary are read from Mongo
+    Mono<UserSummary> findSummaryByUsername(String username);
+}
@@ -0,0 +1,14 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.User;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepositoryCustom
+{
+    /**
+     * Same compare-and-set as {@link UserRepositoryCustom#applyReward}.
+     *
+     * @return The updated user, or empty if the user changed since `expectedVersion` was read.
+     */
+    Mono<User> applyReward(String userId, Long expectedVersion, int level, int experience, int gold, String badge);
+}
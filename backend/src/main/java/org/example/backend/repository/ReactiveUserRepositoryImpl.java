@@ -0,0 +1,26 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.User;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+public class ReactiveUserRepositoryImpl implements ReactiveUserRepositoryCustom
+{
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveUserRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate)
+    {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<User> applyReward(String userId, Long expectedVersion, int level, int experience, int gold, String badge)
+    {
+        return reactiveMongoTemplate.findAndModify(
+                UserRepositoryImpl.unchangedUser(userId, expectedVersion),
+                UserRepositoryImpl.reward(level, experience, gold, badge),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+    }
+}
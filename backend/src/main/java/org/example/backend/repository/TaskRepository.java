@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface TaskRepository extends MongoRepository<Task, String>
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom
 {
     List<Task> findByUserIdAndDueDate(String userId, String dueDate);// Find tasks for a specific user and day
     List<Task> findByUserId(String userId);
@@ -0,0 +1,12 @@
+package org.example.backend.repository;
+
+public interface TaskRepositoryCustom
+{
+    /**
+     * Marks every task that was completed before the given day as open again, in one update.
+     *
+     * @param today The current day as YYYY-MM-DD; completions on this day are kept.
+     * @return The number of tasks that were reset.
+     */
+    long resetCompletedBefore(String today);
+}
@@ -0,0 +1,32 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.Task;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom
+{
+    private final MongoTemplate mongoTemplate;
+
+    public TaskRepositoryImpl(MongoTemplate mongoTemplate)
+    {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long resetCompletedBefore(String today)
+    {
+        // Dates are stored as YYYY-MM-DD, so string order is date order; null covers tasks without a date
+        Query staleCompletions = Query.query(Criteria.where("completed").is(true)
+                .orOperator(
+                        Criteria.where("lastCompletedDate").lt(today),
+                        Criteria.where("lastCompletedDate").is(null)));
+        Update reset = new Update()
+                .set("completed", false)
+                .unset("lastCompletedDate");
+
+        return mongoTemplate.updateMulti(staleCompletions, reset, Task.class).getModifiedCount();
+    }
+}
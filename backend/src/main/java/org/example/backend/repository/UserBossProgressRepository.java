@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserBossProgressRepository extends MongoRepository<UserBossProgress, String>
+public interface UserBossProgressRepository extends MongoRepository<UserBossProgress, String>, UserBossProgressRepositoryCustom
 {
     Optional<UserBossProgress> findByUserIdAndBossId(String userId, String bossId);
     List<UserBossProgress> findByUserId(String userId);
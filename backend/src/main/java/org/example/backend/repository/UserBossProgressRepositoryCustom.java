@@ -0,0 +1,29 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.UserBossProgress;
+
+public interface UserBossProgressRepositoryCustom
+{
+    /**
+     * Atomically applies damage to an undefeated boss in a single findAndModify.
+     * Health is clamped at 0 and `defeated` is set in the same update when health runs out.
+     *
+     * @param userId The ID of the attacking user.
+     * @param bossId The ID of the boss being attacked.
+     * @param damage The damage to subtract from the boss' current health.
+     * @return The progress as it was before the damage was applied, or null if there is
+     * no undefeated progress for the pair (missing or already defeated).
+     */
+    UserBossProgress applyDamage(String userId, String bossId, int damage);
+
+    /**
+     * Returns the progress for the pair, creating it at full health if it doesn't exist yet.
+     * Existing progress is left untouched, so concurrent first attacks can't reset each other.
+     *
+     * @param userId    The ID of the user.
+     * @param bossId    The ID of the boss.
+     * @param maxHealth The health to start with when the progress is created.
+     * @return The existing or newly created progress.
+     */
+    UserBossProgress findOrCreate(String userId, String bossId, int maxHealth);
+}
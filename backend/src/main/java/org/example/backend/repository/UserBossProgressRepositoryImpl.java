@@ -0,0 +1,80 @@
+package org.example.backend.repository;
+
+import org.bson.Document;
+import org.example.backend.entity.UserBossProgress;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UserBossProgressRepositoryImpl implements UserBossProgressRepositoryCustom
+{
+    private final MongoTemplate mongoTemplate;
+
+    public UserBossProgressRepositoryImpl(MongoTemplate mongoTemplate)
+    {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public UserBossProgress applyDamage(String userId, String bossId, int damage)
+    {
+        return mongoTemplate.findAndModify(
+                undefeatedProgress(userId, bossId),
+                damageUpdate(damage),
+                FindAndModifyOptions.options().returnNew(false),
+                UserBossProgress.class);
+    }
+
+    @Override
+    public UserBossProgress findOrCreate(String userId, String bossId, int maxHealth)
+    {
+        return mongoTemplate.findAndModify(
+                progress(userId, bossId),
+                createWhenMissing(maxHealth),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                UserBossProgress.class);
+    }
+
+    // The queries and updates below are shared with the reactive repository
+
+    static Query progress(String userId, String bossId)
+    {
+        return Query.query(Criteria.where("userId").is(userId).and("bossId").is(bossId));
+    }
+
+    static Query undefeatedProgress(String userId, String bossId)
+    {
+        return Query.query(Criteria.where("userId").is(userId)
+                .and("bossId").is(bossId)
+                .and("defeated").is(false));
+    }
+
+    static AggregationUpdate damageUpdate(int damage)
+    {
+        // Single $set stage so both fields are computed from the health before this attack.
+        // The version is bumped as well, so concurrent versioned saves of this document conflict.
+        Document remainingHealth = new Document("$subtract", List.of("$currentHealth", damage));
+        AggregationOperation damageStage = context -> new Document("$set", new Document()
+                .append("currentHealth", new Document("$max", List.of(0, remainingHealth)))
+                .append("defeated", new Document("$lte", List.of(remainingHealth, 0)))
+                .append("lastUpdated", "$$NOW")
+                .append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L))));
+        return AggregationUpdate.from(List.of(damageStage));
+    }
+
+    static Update createWhenMissing(int maxHealth)
+    {
+        return new Update()
+                .setOnInsert("currentHealth", maxHealth)
+                .setOnInsert("defeated", false)
+                .setOnInsert("lastUpdated", LocalDateTime.now())
+                .setOnInsert("version", 0L);
+    }
+}
@@ -1,14 +1,20 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String>
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom
 {
 
     Optional<User> findByUsername(String username); // Query to check if the user exists based on username
 
+    // DTO projections: only the fields of UserSummary are read from Mongo
+    Optional<UserSummary> findSummaryById(String id);
+
+    Optional<UserSummary> findSummaryByUsername(String username);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
@@ -0,0 +1,52 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.User;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Atomic updates on users that can't be expressed as derived queries.
+ */
+public interface UserRepositoryCustom
+{
+    /**
+     * Grants a reward in a single update, provided the user is still at the expected version.
+     * XP and level are set to precomputed values, gold is incremented and the badge is added
+     * unless the user already owns it.
+     *
+     * @param userId          The ID of the user.
+     * @param expectedVersion The version the new level and XP were computed from.
+     * @param level           The level after the reward.
+     * @param experience      The XP after the reward.
+     * @param gold            The gold to add.
+     * @param badge           The badge to add, or null for none.
+     * @return The updated user, or null if the user changed since it was read.
+     */
+    User applyReward(String userId, Long expectedVersion, int level, int experience, int gold, String badge);
+
+    /**
+     * Replaces the password hash, provided it is still the one the new hash was derived from.
+     *
+     * @param userId       The ID of the user.
+     * @param expectedHash The hash that was verified at login.
+     * @param newHash      The re-encoded hash.
+     * @return Whether the hash was replaced.
+     */
+    boolean replacePasswordHash(String userId, String expectedHash, String newHash);
+
+    /**
+     * Stores the cutoff before which the user's tokens are revoked. Bumps the version, so a save
+     * of a copy read before the revocation fails instead of clearing it.
+     *
+     * @param username The user whose tokens to revoke.
+     * @param cutoff   Tokens issued before this instant are revoked.
+     */
+    void revokeTokens(String username, Instant cutoff);
+
+    /**
+     * @param since The earliest cutoff to return.
+     * @return The users revoked at or after `since`, with only the username and the cutoff read.
+     */
+    List<User> findTokenRevocationsSince(Instant since);
+}
@@ -0,0 +1,82 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.User;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UserRepositoryImpl implements UserRepositoryCustom
+{
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryImpl(MongoTemplate mongoTemplate)
+    {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public User applyReward(String userId, Long expectedVersion, int level, int experience, int gold, String badge)
+    {
+        return mongoTemplate.findAndModify(
+                unchangedUser(userId, expectedVersion),
+                reward(level, experience, gold, badge),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+    }
+
+    // Matching on the version makes the reward a compare-and-set against the state the level was computed from
+    static Query unchangedUser(String userId, Long expectedVersion)
+    {
+        return Query.query(Criteria.where("_id").is(userId).and("version").is(expectedVersion));
+    }
+
+    static Update reward(int level, int experience, int gold, String badge)
+    {
+        Update reward = new Update()
+                .set("level", level)
+                .set("experience", experience)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("gold", gold)
+                .inc("version", 1L);
+        if (badge != null)
+        {
+            reward.addToSet("badges", badge);
+        }
+        return reward;
+    }
+
+    @Override
+    public boolean replacePasswordHash(String userId, String expectedHash, String newHash)
+    {
+        // If the password was changed meanwhile, the stale rehash must not overwrite it
+        Query unchangedPassword = Query.query(Criteria.where("_id").is(userId).and("password").is(expectedHash));
+        Update rehash = new Update()
+                .set("password", newHash)
+                .inc("version", 1L);
+
+        return mongoTemplate.updateFirst(unchangedPassword, rehash, User.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void revokeTokens(String username, Instant cutoff)
+    {
+        Update revocation = new Update()
+                .set("tokensRevokedBefore", cutoff)
+                .inc("version", 1L);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("username").is(username)), revocation, User.class);
+    }
+
+    @Override
+    public List<User> findTokenRevocationsSince(Instant since)
+    {
+        Query revoked = Query.query(Criteria.where("tokensRevokedBefore").gte(since));
+        revoked.fields().include("username", "tokensRevokedBefore");
+        return mongoTemplate.find(revoked, User.class);
+    }
+}
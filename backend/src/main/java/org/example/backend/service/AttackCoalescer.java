@@ -0,0 +1,160 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * Opt-in buffer that merges burst attacks on the same (user, boss) pair into one write.
+ * The first attack of a burst waits for the configured window, then applies the summed damage
+ * once, and every attack that joined the burst completes with the same resulting progress.
+ * Waiting is bounded, so a stuck write cannot hold the attacking threads forever.
+ */
+@Component
+public class AttackCoalescer
+{
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long waitTimeoutMillis;
+    private final ConcurrentMap<String, PendingAttacks> pending = new ConcurrentHashMap<>();
+    private final Counter mergedAttacks;
+    private final DistributionSummary batchSize;
+
+    public AttackCoalescer(@Value("${questify.boss.coalescing.enabled:false}") boolean enabled,
+                           @Value("${questify.boss.coalescing.window-ms:5}") long windowMillis,
+                           @Value("${questify.boss.coalescing.wait-timeout-ms:5000}") long waitTimeoutMillis,
+                           MeterRegistry meterRegistry)
+    {
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.mergedAttacks = Counter.builder("questify.boss.attacks.coalesced")
+                .description("Attacks merged into another attack's write")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("questify.boss.attacks.batch.size")
+                .description("Number of attacks applied per coalesced write")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Adds the damage to the pending burst for the pair and waits for the burst to be applied.
+     *
+     * @param userId  The ID of the attacking user.
+     * @param bossId  The ID of the boss being attacked.
+     * @param damage  The damage of this attack.
+     * @param applier Applies the summed damage of the burst and returns the result.
+     * @return The result of applying the whole burst, shared by every attack in it.
+     * @throws IllegalStateException If the burst was not applied within the wait timeout.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T submit(String userId, String bossId, int damage, IntFunction<T> applier)
+    {
+        String key = userId + ':' + bossId;
+        PendingAttacks joined = pending.compute(key, (k, existing) ->
+        {
+            PendingAttacks batch = existing != null ? existing : new PendingAttacks();
+            batch.add(damage);
+            return batch;
+        });
+
+        if (joined.claimLeadership())
+        {
+            flushAfterWindow(key, joined, applier);
+        } else
+        {
+            mergedAttacks.increment();
+        }
+
+        try
+        {
+            // Every attack on the same pair is submitted by the same caller with the same result type
+            return (T) joined.result.get(windowMillis + waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause)
+            {
+                throw cause;
+            }
+            throw new IllegalStateException("Attack could not be applied", e.getCause());
+        } catch (TimeoutException e)
+        {
+            throw new IllegalStateException("Attack is still being applied, try again later");
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the attack to be applied");
+        }
+    }
+
+    private void flushAfterWindow(String key, PendingAttacks batch, IntFunction<?> applier)
+    {
+        try
+        {
+            Thread.sleep(windowMillis);
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        // After removal no attack can join this batch any more; later ones start a new burst
+        pending.remove(key, batch);
+        batchSize.record(batch.attacks);
+        try
+        {
+            batch.result.complete(applier.apply(batch.totalDamage()));
+        } catch (Throwable e)
+        {
+            // Errors too, otherwise the attacks that joined this burst would wait for nothing
+            batch.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Damage collected for one burst. Only mutated inside {@link ConcurrentMap#compute},
+     * which serializes access per key and publishes the values to the flushing thread.
+     */
+    private static final class PendingAttacks
+    {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicBoolean leaderClaimed = new AtomicBoolean();
+        private long damage;
+        private int attacks;
+
+        private void add(int amount)
+        {
+            damage += amount;
+            attacks++;
+        }
+
+        private boolean claimLeadership()
+        {
+            return leaderClaimed.compareAndSet(false, true);
+        }
+
+        private int totalDamage()
+        {
+            return (int) Math.min(Integer.MAX_VALUE, damage);
+        }
+    }
+}
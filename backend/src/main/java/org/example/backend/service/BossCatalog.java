@@ -0,0 +1,148 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.Boss;
+import org.example.backend.repository.BossRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Preloaded, read-only view of the `bosses` collection.
+ * The catalog is small and rarely changes, so boss lookups are served from memory and the
+ * whole snapshot is swapped atomically on reload (admin endpoint or change stream).
+ * Bosses handed out by the catalog are shared between requests and must not be mutated.
+ */
+@Component
+public class BossCatalog
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(BossCatalog.class);
+
+    private final BossRepository bossRepository;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public BossCatalog(BossRepository bossRepository)
+    {
+        this.bossRepository = bossRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAtStartup()
+    {
+        reload();
+    }
+
+    /**
+     * Reads every boss from Mongo and replaces the current snapshot.
+     *
+     * @return The number of bosses in the new snapshot.
+     */
+    public int reload()
+    {
+        Snapshot loaded = Snapshot.of(bossRepository.findAll());
+        snapshot = loaded;
+        LOGGER.info("Boss catalog loaded with {} bosses", loaded.byId.size());
+        return loaded.byId.size();
+    }
+
+    /**
+     * Finds a boss by ID. A miss falls back to Mongo, so a boss inserted since the last reload
+     * is still found; the catalog is then reloaded to pick it up for later calls.
+     *
+     * @param bossId The ID of the boss.
+     * @return The boss, or empty if it exists neither in the catalog nor in Mongo.
+     */
+    public Optional<Boss> findById(String bossId)
+    {
+        Boss cached = snapshot.byId.get(bossId);
+        if (cached != null)
+        {
+            return Optional.of(cached);
+        }
+
+        Optional<Boss> stored = bossRepository.findById(bossId);
+        if (stored.isPresent())
+        {
+            LOGGER.debug("Boss {} missing from catalog, reloading", bossId);
+            reload();
+        }
+        return stored;
+    }
+
+    /**
+     * Finds a boss in the current snapshot only, without the Mongo fallback of {@link #findById},
+     * for callers that must not block.
+     *
+     * @param bossId The ID of the boss.
+     * @return The boss, or empty if it is not in the catalog.
+     */
+    public Optional<Boss> findCached(String bossId)
+    {
+        return Optional.ofNullable(snapshot.byId.get(bossId));
+    }
+
+    /**
+     * Returns every boss a user of the given level is allowed to fight.
+     *
+     * @param level The level of the user.
+     * @return The eligible bosses, ordered by level requirement.
+     */
+    public List<Boss> findEligible(int level)
+    {
+        Map.Entry<Integer, List<Boss>> bucket = snapshot.eligibleByLevel.floorEntry(level);
+        return bucket != null ? bucket.getValue() : List.of();
+    }
+
+    public Collection<Boss> findAll()
+    {
+        return snapshot.byId.values();
+    }
+
+    /**
+     * Immutable index over one load of the catalog. `eligibleByLevel` maps each distinct level
+     * requirement to all bosses at or below it, so an eligibility lookup is a single floorEntry.
+     */
+    private record Snapshot(Map<String, Boss> byId, NavigableMap<Integer, List<Boss>> eligibleByLevel)
+    {
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Collections.emptyNavigableMap());
+
+        private static Snapshot of(List<Boss> bosses)
+        {
+            Map<String, Boss> byId = new HashMap<>();
+            for (Boss boss : bosses)
+            {
+                byId.put(boss.getId(), boss);
+            }
+
+            List<Boss> byLevel = new ArrayList<>(bosses);
+            byLevel.sort(Comparator.comparingInt(Boss::getLevelRequirement));
+
+            NavigableMap<Integer, List<Boss>> eligibleByLevel = new TreeMap<>();
+            for (int i = 0; i < byLevel.size(); i++)
+            {
+                int levelRequirement = byLevel.get(i).getLevelRequirement();
+                boolean lastOfLevel = i + 1 == byLevel.size()
+                        || byLevel.get(i + 1).getLevelRequirement() != levelRequirement;
+                if (lastOfLevel)
+                {
+                    eligibleByLevel.put(levelRequirement, List.copyOf(byLevel.subList(0, i + 1)));
+                }
+            }
+
+            return new Snapshot(Map.copyOf(byId),
+                    Collections.unmodifiableNavigableMap(eligibleByLevel));
+        }
+    }
+}
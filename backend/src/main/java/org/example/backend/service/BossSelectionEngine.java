@@ -0,0 +1,93 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.Boss;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws the boss selection offered to a user from the in-memory catalog.
+ * Bosses are sampled without replacement, weighted so that rare bosses show up less often
+ * (Efraimidis-Spirakis: each boss gets the key ln(u) / weight and the highest keys win).
+ */
+@Component
+public class BossSelectionEngine
+{
+    private static final double COMMON_WEIGHT = 1.0;
+
+    private final BossCatalog bossCatalog;
+    private final double rareWeight;
+    private final Random seededRandom;
+
+    /**
+     * @param rareWeight Weight of a rare boss relative to a common one (1.0 means equally likely).
+     * @param seed       Fixes the random sequence for reproducible selections, e.g. in tests.
+     *                   Without a seed every call draws from a thread-local generator.
+     */
+    public BossSelectionEngine(BossCatalog bossCatalog,
+                               @Value("${questify.boss.selection.rare-weight:0.25}") double rareWeight,
+                               @Value("${questify.boss.selection.seed:#{null}}") Long seed)
+    {
+        if (!(rareWeight > 0))
+        {
+            throw new IllegalArgumentException("Rare boss weight must be positive");
+        }
+        this.bossCatalog = bossCatalog;
+        this.rareWeight = rareWeight;
+        this.seededRandom = seed != null ? new Random(seed) : null;
+    }
+
+    /**
+     * Picks up to `size` distinct, undefeated bosses the user is eligible to fight.
+     *
+     * @param level The level of the user.
+     * @param size  The size of the selection.
+     * @return The selected bosses, fewer if not enough are eligible.
+     */
+    public List<Boss> select(int level, int size)
+    {
+        if (size <= 0)
+        {
+            return List.of();
+        }
+
+        RandomGenerator random = seededRandom != null ? seededRandom : ThreadLocalRandom.current();
+
+        // Min-heap on the key, so the weakest of the current top `size` is evicted first
+        PriorityQueue<WeightedBoss> selected = new PriorityQueue<>(size + 1, Comparator.comparingDouble(WeightedBoss::key));
+        for (Boss boss : bossCatalog.findEligible(level))
+        {
+            if (boss.isDefeated())
+            {
+                continue;
+            }
+
+            // 1 - nextDouble() is in (0, 1], so the logarithm stays finite
+            double weight = boss.isRare() ? rareWeight : COMMON_WEIGHT;
+            double key = Math.log(1.0 - random.nextDouble()) / weight;
+            selected.add(new WeightedBoss(boss, key));
+            if (selected.size() > size)
+            {
+                selected.poll();
+            }
+        }
+
+        List<Boss> bosses = new ArrayList<>(selected.size());
+        while (!selected.isEmpty())
+        {
+            bosses.add(selected.poll().boss());
+        }
+        return bosses.reversed();
+    }
+
+    private record WeightedBoss(Boss boss, double key)
+    {
+    }
+}
@@ -1,46 +1,55 @@
 package org.example.backend.service;
 
+import org.example.backend.dto.BatchAttackResponse;
 import org.example.backend.dto.BossResponse;
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.Boss;
 import org.example.backend.entity.User;
 import org.example.backend.entity.UserBossProgress;
-import org.example.backend.repository.BossRepository;
 import org.example.backend.repository.UserBossProgressRepository;
-import org.example.backend.repository.UserRepository;
+import org.example.backend.util.OptimisticRetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class BossService
 {
-    private final WebSocketService webSocketService;
-    private final BossRepository bossRepository;
+    private static final Logger LOGGER = LoggerFactory.getLogger(BossService.class);
+    private static final int SELECTION_SIZE = 4;
+
+    private final BossCatalog bossCatalog;
+    private final BossSelectionEngine bossSelectionEngine;
     private final UserService userService;
-    private final UserRepository userRepository;
     private final UserBossProgressRepository userBossProgressRepository;
+    private final OptimisticRetry optimisticRetry;
+    private final AttackCoalescer attackCoalescer;
 
-    public BossService(WebSocketService webSocketService, BossRepository bossRepository,
+    public BossService(BossCatalog bossCatalog,
+                       BossSelectionEngine bossSelectionEngine,
                        UserService userService,
-                       UserRepository userRepository,
-                       UserBossProgressRepository userBossProgressRepository)
+                       UserBossProgressRepository userBossProgressRepository,
+                       OptimisticRetry optimisticRetry,
+                       AttackCoalescer attackCoalescer)
     {
-        this.webSocketService = webSocketService;
-        this.bossRepository = bossRepository;
+        this.bossCatalog = bossCatalog;
+        this.bossSelectionEngine = bossSelectionEngine;
         this.userService = userService;
-        this.userRepository = userRepository;
         this.userBossProgressRepository = userBossProgressRepository;
+        this.optimisticRetry = optimisticRetry;
+        this.attackCoalescer = attackCoalescer;
     }
 
 
     public BossResponse getActiveBoss(String userId)
     {
-        User user = userService.getUserBasicDetails(userId);
+        UserSummary user = userService.getUserBasicDetails(userId);
         String currentBossId = user.getCurrentBossId();
 
         if (currentBossId == null)
@@ -48,7 +57,7 @@ public class BossService
             throw new IllegalArgumentException("User is not currently fighting any boss.");
         }
 
-        Boss boss = bossRepository.findById(currentBossId)
+        Boss boss = bossCatalog.findById(currentBossId)
                 .orElseThrow(() -> new IllegalArgumentException("Boss not found"));
 
         UserBossProgress progress = userBossProgressRepository
@@ -61,30 +70,76 @@ public class BossService
 
     public UserBossProgress initializeUserBossProgress(String userId, String bossId, int maxHealth)
     {
-        // Try to find existing progress
-        Optional<UserBossProgress> existingProgress = userBossProgressRepository
-                .findByUserIdAndBossId(userId, bossId);
+        // Versioned save: if an attack lands between the read and the reset, retry on fresh state
+        return optimisticRetry.execute("bossProgress.reset", () ->
+        {
+            // Try to find existing progress
+            Optional<UserBossProgress> existingProgress = userBossProgressRepository
+                    .findByUserIdAndBossId(userId, bossId);
+
+            if (existingProgress.isPresent())
+            {
+                // If progress exists, reset it
+                UserBossProgress progress = existingProgress.get();
+                progress.setCurrentHealth(maxHealth);
+                progress.setDefeated(false);
+                progress.setLastUpdated(LocalDateTime.now());
+                return userBossProgressRepository.save(progress);
+            } else
+            {
+                // If no progress exists, create new
+                UserBossProgress newProgress = new UserBossProgress(userId, bossId, maxHealth);
+                return userBossProgressRepository.save(newProgress);
+            }
+        });
+    }
+
+    public BossResponse dealDamage(String userId, int damage)
+    {
+        Boss boss = getCurrentBoss(userId);
+
+        DamageOutcome outcome = attackCoalescer.isEnabled()
+                ? attackCoalescer.submit(userId, boss.getId(), damage, total -> applyDamage(userId, boss, total))
+                : applyDamage(userId, boss, damage);
+        return new BossResponse(boss, outcome.progress(), outcome.causedLevelUp());
+    }
+
+    /**
+     * Applies a combo of hits with a single damage write and reports how each hit landed.
+     *
+     * @param userId The ID of the attacking user.
+     * @param hits   The damage of each hit, in the order they land.
+     * @return The boss state after the combo plus the result of every hit.
+     */
+    public BatchAttackResponse dealDamageBatch(String userId, List<Integer> hits)
+    {
+        Boss boss = getCurrentBoss(userId);
 
-        if (existingProgress.isPresent())
+        long totalDamage = 0;
+        for (int hit : hits)
         {
-            // If progress exists, reset it
-            UserBossProgress progress = existingProgress.get();
-            progress.setCurrentHealth(maxHealth);
-            progress.setDefeated(false);
-            progress.setLastUpdated(LocalDateTime.now());
-            return userBossProgressRepository.save(progress);
-        } else
+            totalDamage += hit;
+        }
+        DamageOutcome outcome = applyDamage(userId, boss, (int) Math.min(Integer.MAX_VALUE, totalDamage));
+
+        // Replay the hits against the health before the combo to get per-hit results
+        List<BatchAttackResponse.HitResult> hitResults = new ArrayList<>(hits.size());
+        int health = outcome.healthBefore();
+        for (int hit : hits)
         {
-            // If no progress exists, create new
-            UserBossProgress newProgress = new UserBossProgress(userId, bossId, maxHealth);
-            return userBossProgressRepository.save(newProgress);
+            boolean landed = health > 0;
+            int remaining = Math.max(0, health - hit);
+            hitResults.add(new BatchAttackResponse.HitResult(hit, landed ? remaining : 0, landed, landed && remaining == 0));
+            health = remaining;
         }
+
+        BossResponse bossResponse = new BossResponse(boss, outcome.progress(), outcome.causedLevelUp());
+        return new BatchAttackResponse(bossResponse, hitResults);
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public BossResponse dealDamage(String userId, int damage)
+    private Boss getCurrentBoss(String userId)
     {
-        User user = userService.getUserBasicDetails(userId);
+        UserSummary user = userService.getUserBasicDetails(userId);
         String currentBossId = user.getCurrentBossId();
 
         if (currentBossId == null)
@@ -92,95 +147,103 @@ public class BossService
             throw new IllegalArgumentException("User is not currently fighting any boss.");
         }
 
-        Boss boss = bossRepository.findById(currentBossId)
+        return bossCatalog.findById(currentBossId)
                 .orElseThrow(() -> new IllegalArgumentException("Boss not found"));
+    }
 
-        // optimistic locking
-        UserBossProgress progress;
-        synchronized (BossService.class) // Class-level lock
-        {
-            progress = userBossProgressRepository
-                    .findByUserIdAndBossId(userId, currentBossId)
-                    .orElseGet(() -> initializeUserBossProgress(userId, currentBossId, boss.getMaxHealth()));
+    /**
+     * Applies damage with a single conditional findAndModify, so concurrent attacks can't
+     * defeat the same boss twice, even when they are served by different backend replicas.
+     *
+     * @return The boss health before the damage and the progress after it was applied.
+     */
+    private DamageOutcome applyDamage(String userId, Boss boss, int damage)
+    {
+        UserBossProgress before = userBossProgressRepository.applyDamage(userId, boss.getId(), damage);
 
-            if (progress.isDefeated())
+        if (before == null)
+        {
+            // No undefeated progress: the fight hasn't been initialized yet or the boss is already down
+            UserBossProgress existing = userBossProgressRepository
+                    .findOrCreate(userId, boss.getId(), boss.getMaxHealth());
+            if (existing.isDefeated())
             {
-                return new BossResponse(boss, progress);
+                return new DamageOutcome(0, existing, false);
             }
 
-            int newHealth = progress.getCurrentHealth() - damage;
-            if (newHealth <= 0 && !progress.isDefeated())
-            {
-                progress.setCurrentHealth(0);
-                progress.setDefeated(true);
-                progress = userBossProgressRepository.save(progress);
-                handleBossDefeat(boss, userId);
-            } else if (!progress.isDefeated())
+            before = userBossProgressRepository.applyDamage(userId, boss.getId(), damage);
+            if (before == null)
             {
-                progress.setCurrentHealth(Math.max(0, newHealth));
-                progress = userBossProgressRepository.save(progress);
+                // Defeated by a concurrent attack in the meantime
+                UserBossProgress current = userBossProgressRepository.findByUserIdAndBossId(userId, boss.getId())
+                        .orElse(existing);
+                return new DamageOutcome(0, current, false);
             }
         }
 
-        return new BossResponse(boss, progress);
+        // Derive the new state locally from the pre-update document, mirroring the update
+        int healthBefore = before.getCurrentHealth();
+        int remainingHealth = healthBefore - damage;
+        UserBossProgress progress = before;
+        progress.setCurrentHealth(Math.max(0, remainingHealth));
+        progress.setDefeated(remainingHealth <= 0);
+        progress.setLastUpdated(LocalDateTime.now());
+        progress.setVersion(before.getVersion() == null ? 1L : before.getVersion() + 1);
+
+        // Only the attack that flipped `defeated` gets here, so rewards are granted exactly once
+        boolean causedLevelUp = progress.isDefeated() && handleBossDefeat(boss, userId);
+        return new DamageOutcome(healthBefore, progress, causedLevelUp);
+    }
+
+    private record DamageOutcome(int healthBefore, UserBossProgress progress, boolean causedLevelUp)
+    {
     }
 
 
-    public List<Boss> getBossSelection()
+    /**
+     * Draws a random selection of bosses for the user's level, without querying Mongo.
+     *
+     * @param level The level of the user.
+     * @return Up to four bosses the user can fight.
+     */
+    public List<Boss> getBossSelection(int level)
     {
-        return bossRepository.findRandomBosses(4);
+        return bossSelectionEngine.select(level, SELECTION_SIZE);
     }
 
     public boolean initiateBossFight(String bossId)
     {
-        return bossRepository.findById(bossId).isPresent();
+        return bossCatalog.findById(bossId).isPresent();
     }
 
-    private void handleBossDefeat(Boss boss, String userId)
+    /**
+     * Grants the boss rewards to the user.
+     *
+     * @return Whether the XP reward caused a level up.
+     */
+    private boolean handleBossDefeat(Boss boss, String userId)
     {
         // Extract rewards from the boss
         int xpReward = boss.getRewards().getXp();
         int goldReward = boss.getRewards().getGold();
         String badgeReward = boss.getRewards().getBadge();
 
-        // Fetch the user
-        User user = userService.getUserBasicDetails(userId);
-        String username = user.getUsername();
-
-        // Store initial level
-        int initialLevel = user.getLevel();
-
-        // Update user XP and level
-        User updatedUser = userService.updateUserDetails(username, xpReward, null, null);
-
-        // Check if level up occurred
-        boolean causedLevelUp = updatedUser.getLevel() > initialLevel;
-
-        // Update gold
-        updatedUser.setGold(updatedUser.getGold() + goldReward);
-
-        // Add badge if not already owned
-        if (!updatedUser.hasBadge(badgeReward))
-        {
-            updatedUser.addBadge(badgeReward);
-        }
-
-        // Save final state
-        userService.saveUser(updatedUser);
-
-        // Include the levelUp status in the response
-        boss.getRewards().setCausedLevelUp(causedLevelUp);
+        // XP, level, gold and badge in one update, then a single stats message
+        UserService.RewardGrant grant = userService.grantBossReward(userId, xpReward, goldReward, badgeReward);
+        User rewardedUser = grant.user();
+        boolean causedLevelUp = grant.causedLevelUp();
 
-        webSocketService.sendUserStatsUpdate(username, updatedUser.getGold(), updatedUser.getLevel());
+        userService.sendUserStatsUpdate(rewardedUser);
 
-        System.out.printf("User %s defeated boss %s and received: %d XP, %d gold, badge: %s, Level Up: %b%n",
+        LOGGER.info("User {} defeated boss {} and received: {} XP, {} gold, badge: {}, Level Up: {}",
                 userId, boss.getName(), xpReward, goldReward, badgeReward, causedLevelUp);
+        return causedLevelUp;
     }
 
 
     public Boss getBossById(String bossId)
     {
-        return bossRepository.findById(bossId)
+        return bossCatalog.findById(bossId)
                 .orElseThrow(() -> new IllegalArgumentException("Boss not found with ID: " + bossId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package org.example.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Decides whether a habit or task counts as completed, from its last completion date and the
+ * current period: the day for DAILY (and tasks), the ISO week for WEEKLY. Reads derive the
+ * completion state from this instead of relying on the stored flag being reset in time.
+ */
+@Component
+public class CompletionPeriodEvaluator
+{
+    public static final String DAILY = "DAILY";
+    public static final String WEEKLY = "WEEKLY";
+
+    private final Clock clock;
+
+    public CompletionPeriodEvaluator()
+    {
+        this(Clock.systemDefaultZone());
+    }
+
+    CompletionPeriodEvaluator(Clock clock)
+    {
+        this.clock = clock;
+    }
+
+    public LocalDate today()
+    {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * @param frequency         DAILY or WEEKLY, case-insensitive; anything else is treated as DAILY.
+     * @param lastCompletedDate The last completion as YYYY-MM-DD, or null if never completed.
+     * @return Whether the last completion falls into the current period.
+     */
+    public boolean isCompletedInCurrentPeriod(String frequency, String lastCompletedDate)
+    {
+        if (lastCompletedDate == null)
+        {
+            return false;
+        }
+        LocalDate completedOn = LocalDate.parse(lastCompletedDate);
+        LocalDate today = today();
+
+        if (WEEKLY.equalsIgnoreCase(frequency))
+        {
+            // The week number alone repeats every year, and the first days of January can belong to
+            // the last week of the previous year, so compare the week-based year as well
+            return completedOn.get(IsoFields.WEEK_BASED_YEAR) == today.get(IsoFields.WEEK_BASED_YEAR)
+                    && completedOn.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR) == today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+        }
+        return completedOn.equals(today);
+    }
+
+    /**
+     * @return The first day of the period containing the given day: the day itself for DAILY,
+     * the Monday of its ISO week for WEEKLY.
+     */
+    public LocalDate periodStart(String frequency, LocalDate day)
+    {
+        if (WEEKLY.equalsIgnoreCase(frequency))
+        {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        return day;
+    }
+}
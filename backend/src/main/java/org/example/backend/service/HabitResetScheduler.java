@@ -0,0 +1,78 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.backend.repository.HabitRepository;
+import org.example.backend.util.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Reopens completed habits once their period is over: DAILY habits every day, WEEKLY habits
+ * when a new ISO week (starting Monday) begins. Both run every night, a weekly reset outside
+ * a week boundary only catches up on a missed run. One replica runs it, see SchedulerLock.
+ * Off by default: reads derive the completion state (CompletionPeriodEvaluator), so the job
+ * only keeps the stored flag tidy for anything reading the collection directly.
+ */
+@Component
+@ConditionalOnProperty(name = "questify.habits.reset.enabled", havingValue = "true")
+public class HabitResetScheduler
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(HabitResetScheduler.class);
+    private static final String LOCK_NAME = "habitReset";
+
+    private final HabitRepository habitRepository;
+    private final SchedulerLock schedulerLock;
+    private final CompletionPeriodEvaluator completionPeriodEvaluator;
+    private final MeterRegistry meterRegistry;
+    private final Timer resetDuration;
+
+    public HabitResetScheduler(HabitRepository habitRepository, SchedulerLock schedulerLock,
+                               CompletionPeriodEvaluator completionPeriodEvaluator, MeterRegistry meterRegistry)
+    {
+        this.habitRepository = habitRepository;
+        this.schedulerLock = schedulerLock;
+        this.completionPeriodEvaluator = completionPeriodEvaluator;
+        this.meterRegistry = meterRegistry;
+        this.resetDuration = Timer.builder("questify.habits.reset.duration")
+                .description("Duration of the nightly habit reset")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${questify.habits.reset.cron:0 0 0 * * *}")
+    public void resetCompletedHabits()
+    {
+        schedulerLock.runExclusively(LOCK_NAME, () -> resetCompletedHabits(completionPeriodEvaluator.today()));
+    }
+
+    // Catches up on a reset that was missed while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void resetAtStartup()
+    {
+        resetCompletedHabits();
+    }
+
+    void resetCompletedHabits(LocalDate today)
+    {
+        Timer.Sample sample = Timer.start();
+        long daily = reset(CompletionPeriodEvaluator.DAILY, today);
+        long weekly = reset(CompletionPeriodEvaluator.WEEKLY, today);
+        sample.stop(resetDuration);
+        LOGGER.info("Reset {} daily and {} weekly habits", daily, weekly);
+    }
+
+    private long reset(String frequency, LocalDate today)
+    {
+        LocalDate periodStart = completionPeriodEvaluator.periodStart(frequency, today);
+        long reset = habitRepository.resetCompletedBefore(frequency, periodStart.toString());
+        meterRegistry.counter("questify.habits.reset", "frequency", frequency).increment(reset);
+        return reset;
+    }
+}
@@ -5,7 +5,6 @@ import org.example.backend.entity.Habit;
 import org.example.backend.repository.HabitRepository;
 import org.springframework.stereotype.Service;
 
-import java.time.temporal.IsoFields;
 import java.util.List;
 import java.time.LocalDate;
 
@@ -14,43 +13,21 @@ public class HabitService
 {
 
     private final HabitRepository habitRepository;
+    private final CompletionPeriodEvaluator completionPeriodEvaluator;
 
-    public HabitService(HabitRepository habitRepository)
+    public HabitService(HabitRepository habitRepository, CompletionPeriodEvaluator completionPeriodEvaluator)
     {
         this.habitRepository = habitRepository;
+        this.completionPeriodEvaluator = completionPeriodEvaluator;
     }
 
+    // The completion state is derived from the last completion date; the stored flag may still
+    // be set from a previous period, and reading never writes to correct it
     public List<Habit> getHabits(String userId)
     {
         List<Habit> habits = habitRepository.findByUserId(userId);
-
-        LocalDate today = LocalDate.now();
-
-        // Reset incomplete habits based on their frequency
-        habits.forEach(habit ->
-        {
-            if (habit.getLastCompletedDate() != null)
-            {
-                LocalDate lastCompletedDate = LocalDate.parse(habit.getLastCompletedDate());
-                boolean needReset = false;
-
-                if (habit.getFrequency().equalsIgnoreCase("DAILY"))
-                {
-                    needReset = !lastCompletedDate.equals(today); // Reset if not completed today
-                } else if (habit.getFrequency().equalsIgnoreCase("WEEKLY"))
-                {
-                    needReset = today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR) !=
-                            lastCompletedDate.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
-                }
-
-                if (needReset)
-                {
-                    habit.setCompleted(false); // Reset completion status
-                    habitRepository.save(habit); // Save the reset habit
-                }
-            }
-        });
-
+        habits.forEach(habit -> habit.setCompleted(
+                completionPeriodEvaluator.isCompletedInCurrentPeriod(habit.getFrequency(), habit.getLastCompletedDate())));
         return habits;
     }
 
@@ -64,7 +41,7 @@ public class HabitService
             throw new IllegalArgumentException("Habit does not belong to the user");
         }
 
-        LocalDate today = LocalDate.now();
+        LocalDate today = completionPeriodEvaluator.today();
         String lastCompletedDate = habit.getLastCompletedDate();
 
         if (today.toString().equals(lastCompletedDate))
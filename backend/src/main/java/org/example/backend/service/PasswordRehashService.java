@@ -0,0 +1,132 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.backend.config.BoundedPasswordEncoder;
+import org.example.backend.config.StoredUserDetails;
+import org.example.backend.entity.User;
+import org.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves stored password hashes to the configured BCrypt cost, up or down, as users log in.
+ * The raw password is only known right after a successful login, so the rehash happens then.
+ * Whether a hash is outdated is known from the login itself; only those users are rehashed,
+ * in the background on a small pool of their own that drops work when full, so rehashes
+ * never take room from logins on the hashing pool.
+ */
+@Service
+public class PasswordRehashService
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordRehashService.class);
+
+    private final PasswordEncoder bcrypt;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    public PasswordRehashService(BoundedPasswordEncoder passwordEncoder, UserRepository userRepository,
+                                 @Value("${questify.auth.bcrypt.rehash-queue-capacity:16}") int queueCapacity,
+                                 MeterRegistry meterRegistry)
+    {
+        this.bcrypt = passwordEncoder.getDelegate();
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("bcrypt-rehash").daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Schedules a rehash of the user's password if the login found its cost differs from the
+     * target. Never throws, a failed or dropped rehash is retried on a later login.
+     *
+     * @param user        The principal of the login that just succeeded.
+     * @param rawPassword The password they logged in with.
+     */
+    public void rehashIfNeeded(UserDetails user, String rawPassword)
+    {
+        if (!(user instanceof StoredUserDetails stored) || !stored.isPasswordUpgradeNeeded())
+        {
+            return;
+        }
+
+        String username = user.getUsername();
+        try
+        {
+            executor.execute(() ->
+            {
+                try
+                {
+                    rehash(username, rawPassword);
+                } catch (RuntimeException e)
+                {
+                    count("failed");
+                    LOGGER.warn("Password rehash failed for {}: {}", username, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e)
+        {
+            count("dropped");
+        }
+    }
+
+    /**
+     * Stops accepting rehashes and gives the queued ones a few seconds to finish.
+     */
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdown();
+        try
+        {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rehash(String username, String rawPassword)
+    {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null || !bcrypt.upgradeEncoding(user.getPassword()))
+        {
+            return;
+        }
+
+        // The password may have changed since the login was verified; never rehash a different one.
+        // This costs one more hash, but only once per user and cost change.
+        if (!bcrypt.matches(rawPassword, user.getPassword()))
+        {
+            count("mismatch");
+            return;
+        }
+
+        String newHash = bcrypt.encode(rawPassword);
+        boolean replaced = userRepository.replacePasswordHash(user.getId(), user.getPassword(), newHash);
+        count(replaced ? "rehashed" : "conflict");
+    }
+
+    private void count(String outcome)
+    {
+        Counter.builder("questify.bcrypt.rehash")
+                .description("Background password rehashes to the target BCrypt cost")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.backend.service;
+
+import org.example.backend.config.ReactiveMongoConfig;
+import org.example.backend.dto.BossResponse;
+import org.example.backend.dto.UserSummary;
+import org.example.backend.entity.Boss;
+import org.example.backend.entity.User;
+import org.example.backend.entity.UserBossProgress;
+import org.example.backend.repository.ReactiveUserBossProgressRepository;
+import org.example.backend.repository.ReactiveUserRepository;
+import org.example.backend.util.LevelCurve;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking variant of the combat part of {@link BossService}, for the `reactive-combat` profile.
+ * Same conditional updates and reward rules, but as reactive pipelines, so waiting on Mongo
+ * doesn't hold a request thread. Boss lookups and selections are served from the in-memory catalog.
+ */
+@Service
+@Profile(ReactiveMongoConfig.PROFILE)
+public class ReactiveBossService
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveBossService.class);
+    private static final int SELECTION_SIZE = 4;
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveUserBossProgressRepository userBossProgressRepository;
+    private final BossCatalog bossCatalog;
+    private final BossSelectionEngine bossSelectionEngine;
+    private final LevelCurve levelCurve;
+    private final UserSummaryCache userSummaryCache;
+    private final WebSocketService webSocketService;
+    private final Retry rewardRetry;
+
+    public ReactiveBossService(ReactiveUserRepository userRepository,
+                               ReactiveUserBossProgressRepository userBossProgressRepository,
+                               BossCatalog bossCatalog,
+                               BossSelectionEngine bossSelectionEngine,
+                               LevelCurve levelCurve,
+                               UserSummaryCache userSummaryCache,
+                               WebSocketService webSocketService,
+                               @Value("${questify.retry.max-attempts:5}") int maxAttempts,
+                               @Value("${questify.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+                               @Value("${questify.retry.max-backoff-ms:200}") long maxBackoffMillis)
+    {
+        if (maxAttempts < 1)
+        {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        this.userRepository = userRepository;
+        this.userBossProgressRepository = userBossProgressRepository;
+        this.bossCatalog = bossCatalog;
+        this.bossSelectionEngine = bossSelectionEngine;
+        this.levelCurve = levelCurve;
+        this.userSummaryCache = userSummaryCache;
+        this.webSocketService = webSocketService;
+        // Same bounds as OptimisticRetry, but the backoff is a delay instead of a sleeping thread
+        this.rewardRetry = Retry.backoff(maxAttempts - 1, Duration.ofMillis(initialBackoffMillis))
+                .maxBackoff(Duration.ofMillis(Math.max(initialBackoffMillis, maxBackoffMillis)))
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .doBeforeRetry(signal -> LOGGER.debug("Version conflict on reward (attempt {}), retrying",
+                        signal.totalRetries() + 1))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public Mono<UserSummary> getUserSummary(String username)
+    {
+        return userRepository.findSummaryByUsername(username)
+                .switchIfEmpty(Mono.error(() ->
+                        new IllegalArgumentException("User with username '" + username + "' not found.")));
+    }
+
+    public Mono<BossResponse> getActiveBoss(UserSummary user)
+    {
+        return getCurrentBoss(user).flatMap(boss -> userBossProgressRepository
+                .findByUserIdAndBossId(user.getId(), boss.getId())
+                .switchIfEmpty(Mono.defer(() ->
+                        userBossProgressRepository.findOrCreate(user.getId(), boss.getId(), boss.getMaxHealth())))
+                .map(progress -> new BossResponse(boss, progress)));
+    }
+
+    public Mono<BossResponse> dealDamage(UserSummary user, int damage)
+    {
+        return getCurrentBoss(user).flatMap(boss -> applyDamage(user.getId(), boss, damage)
+                .map(outcome -> new BossResponse(boss, outcome.progress(), outcome.causedLevelUp())));
+    }
+
+    /**
+     * Draws a random selection of bosses for the user's level, from memory.
+     *
+     * @param level The level of the user.
+     * @return Up to four bosses the user can fight.
+     */
+    public List<Boss> getBossSelection(int level)
+    {
+        return bossSelectionEngine.select(level, SELECTION_SIZE);
+    }
+
+    private Mono<Boss> getCurrentBoss(UserSummary user)
+    {
+        String currentBossId = user.getCurrentBossId();
+        if (currentBossId == null)
+        {
+            return Mono.error(new IllegalArgumentException("User is not currently fighting any boss."));
+        }
+
+        Optional<Boss> cached = bossCatalog.findCached(currentBossId);
+        if (cached.isPresent())
+        {
+            return Mono.just(cached.get());
+        }
+        // A catalog miss falls back to the blocking repository and a reload, so keep it off the calling thread
+        return Mono.fromCallable(() -> bossCatalog.findById(currentBossId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Boss not found")));
+    }
+
+    /**
+     * Same flow as BossService.applyDamage: a single conditional findAndModify, with the progress
+     * created first if the fight hasn't been initialized yet.
+     */
+    private Mono<DamageOutcome> applyDamage(String userId, Boss boss, int damage)
+    {
+        return userBossProgressRepository.applyDamage(userId, boss.getId(), damage)
+                .flatMap(before -> landed(userId, boss, before, damage))
+                .switchIfEmpty(Mono.defer(() -> userBossProgressRepository
+                        .findOrCreate(userId, boss.getId(), boss.getMaxHealth())
+                        .flatMap(existing -> existing.isDefeated()
+                                ? Mono.just(new DamageOutcome(0, existing, false))
+                                : userBossProgressRepository.applyDamage(userId, boss.getId(), damage)
+                                        .flatMap(before -> landed(userId, boss, before, damage))
+                                        // Defeated by a concurrent attack in the meantime
+                                        .switchIfEmpty(Mono.defer(() -> userBossProgressRepository
+                                                .findByUserIdAndBossId(userId, boss.getId())
+                                                .defaultIfEmpty(existing)
+                                                .map(current -> new DamageOutcome(0, current, false)))))));
+    }
+
+    private Mono<DamageOutcome> landed(String userId, Boss boss, UserBossProgress before, int damage)
+    {
+        // Derive the new state locally from the pre-update document, mirroring the update
+        int healthBefore = before.getCurrentHealth();
+        int remainingHealth = healthBefore - damage;
+        UserBossProgress progress = before;
+        progress.setCurrentHealth(Math.max(0, remainingHealth));
+        progress.setDefeated(remainingHealth <= 0);
+        progress.setLastUpdated(LocalDateTime.now());
+        progress.setVersion(before.getVersion() == null ? 1L : before.getVersion() + 1);
+
+        if (!progress.isDefeated())
+        {
+            return Mono.just(new DamageOutcome(healthBefore, progress, false));
+        }
+        // Only the attack that flipped `defeated` gets here, so rewards are granted exactly once
+        return handleBossDefeat(boss, userId)
+                .map(causedLevelUp -> new DamageOutcome(healthBefore, progress, causedLevelUp));
+    }
+
+    private record DamageOutcome(int healthBefore, UserBossProgress progress, boolean causedLevelUp)
+    {
+    }
+
+    /**
+     * Grants the boss rewards with the same compare-and-set as UserService.grantBossReward.
+     *
+     * @return Whether the XP reward caused a level up.
+     */
+    private Mono<Boolean> handleBossDefeat(Boss boss, String userId)
+    {
+        int xpReward = boss.getRewards().getXp();
+        int goldReward = boss.getRewards().getGold();
+        String badgeReward = boss.getRewards().getBadge();
+
+        // Deferred, so every retry reads the user again
+        Mono<UserService.RewardGrant> grant = Mono.defer(() -> userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() ->
+                        new IllegalArgumentException("User with ID '" + userId + "' not found.")))
+                .flatMap(user ->
+                {
+                    int initialLevel = user.getLevel();
+                    LevelCurve.LevelProgress progress = levelCurve.addExperience(user.getLevel(), user.getExperience(), xpReward);
+                    return userRepository.applyReward(user.getId(), user.getVersion(),
+                                    progress.level(), progress.experience(), goldReward, badgeReward)
+                            .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                                    "User " + userId + " changed while granting a reward")))
+                            .map(rewarded -> new UserService.RewardGrant(rewarded, rewarded.getLevel() > initialLevel));
+                }));
+
+        return grant.retryWhen(rewardRetry)
+                .map(rewardGrant ->
+                {
+                    User rewardedUser = rewardGrant.user();
+                    userSummaryCache.invalidate(rewardedUser.getId(), rewardedUser.getUsername());
+                    webSocketService.sendUserStatsUpdate(rewardedUser);
+
+                    LOGGER.info("User {} defeated boss {} and received: {} XP, {} gold, badge: {}, Level Up: {}",
+                            userId, boss.getName(), xpReward, goldReward, badgeReward, rewardGrant.causedLevelUp());
+                    return rewardGrant.causedLevelUp();
+                });
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.backend.repository.TaskRepository;
+import org.example.backend.util.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Reopens completed tasks once their day is over, with one bulk update at midnight instead of
+ * a write on every dashboard load. Days are in the server time zone, the same one used when a
+ * task is completed; users don't have a time zone of their own, so there is a single bucket.
+ * One replica runs it, see SchedulerLock. Off by default: reads derive the completion state
+ * (CompletionPeriodEvaluator), so the job only keeps the stored flag tidy.
+ */
+@Component
+@ConditionalOnProperty(name = "questify.tasks.reset.enabled", havingValue = "true")
+public class TaskResetScheduler
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskResetScheduler.class);
+    private static final String LOCK_NAME = "taskReset";
+
+    private final TaskRepository taskRepository;
+    private final SchedulerLock schedulerLock;
+    private final Counter resetTasks;
+    private final Timer resetDuration;
+
+    public TaskResetScheduler(TaskRepository taskRepository, SchedulerLock schedulerLock, MeterRegistry meterRegistry)
+    {
+        this.taskRepository = taskRepository;
+        this.schedulerLock = schedulerLock;
+        this.resetTasks = Counter.builder("questify.tasks.reset")
+                .description("Completed tasks reopened by the nightly reset")
+                .register(meterRegistry);
+        this.resetDuration = Timer.builder("questify.tasks.reset.duration")
+                .description("Duration of the nightly task reset")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${questify.tasks.reset.cron:0 0 0 * * *}")
+    public void resetCompletedTasks()
+    {
+        schedulerLock.runExclusively(LOCK_NAME, this::resetNow);
+    }
+
+    // Catches up on a reset that was missed while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void resetAtStartup()
+    {
+        resetCompletedTasks();
+    }
+
+    private void resetNow()
+    {
+        Timer.Sample sample = Timer.start();
+        long reset = taskRepository.resetCompletedBefore(LocalDate.now().toString());
+        sample.stop(resetDuration);
+        resetTasks.increment(reset);
+        LOGGER.info("Reset {} completed tasks", reset);
+    }
+}
@@ -4,20 +4,25 @@ import org.example.backend.dto.TaskCreationRequest;
 import org.example.backend.dto.TaskResponse;
 import org.example.backend.entity.Task;
 import org.example.backend.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class TaskService
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskService.class);
+
     private final TaskRepository taskRepository;
+    private final CompletionPeriodEvaluator completionPeriodEvaluator;
 
-    public TaskService(TaskRepository taskRepository)
+    public TaskService(TaskRepository taskRepository, CompletionPeriodEvaluator completionPeriodEvaluator)
     {
         this.taskRepository = taskRepository;
+        this.completionPeriodEvaluator = completionPeriodEvaluator;
     }
 
     // Create a new task
@@ -33,32 +38,16 @@ public class TaskService
         return new TaskResponse(savedTask.getId(), savedTask.getTitle(), savedTask.isCompleted(), savedTask.getDueDate());
     }
 
-    // Retrieve all tasks for a specific user on a given day
+    // Retrieve all tasks for a specific user; a task counts as completed only on the day it was completed
     public List<TaskResponse> getAllTasksForUser(String userId) {
         List<Task> tasks = taskRepository.findByUserId(userId);
-        LocalDate today = LocalDate.now();
-
-        System.out.println("Found " + tasks.size() + " tasks for user: " + userId);
-
-        List<Task> tasksToUpdate = new ArrayList<>();
 
-        // First, collect tasks that need updating
-        for (Task task : tasks) {
-            if (task.isCompleted() && !today.toString().equals(task.getLastCompletedDate())) {
-                task.setCompleted(false);
-                task.setLastCompletedDate(null);
-                tasksToUpdate.add(task);
-            }
-        }
-
-        // Then, if there are any tasks to update, save them all at once
-        if (!tasksToUpdate.isEmpty()) {
-            taskRepository.saveAll(tasksToUpdate);
-        }
+        LOGGER.debug("Found {} tasks for user: {}", tasks.size(), userId);
 
-        // Return the responses
         return tasks.stream()
-                .map(task -> new TaskResponse(task.getId(), task.getTitle(), task.isCompleted(), task.getDueDate()))
+                .map(task -> new TaskResponse(task.getId(), task.getTitle(),
+                        completionPeriodEvaluator.isCompletedInCurrentPeriod(CompletionPeriodEvaluator.DAILY, task.getLastCompletedDate()),
+                        task.getDueDate()))
                 .toList();
     }
 
@@ -75,7 +64,7 @@ public class TaskService
             throw new IllegalArgumentException("Task does not belong to the user");
         }
 
-        LocalDate today = LocalDate.now();
+        LocalDate today = completionPeriodEvaluator.today();
 
         // Check if the task is already completed today
         if (today.toString().equals(task.getLastCompletedDate()))
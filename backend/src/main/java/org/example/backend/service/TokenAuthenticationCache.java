@@ -0,0 +1,227 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.util.InvalidationGenerations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Short-lived cache of validated tokens, so an authenticated request doesn't load the user
+ * from Mongo every time. Entries are keyed by a SHA-256 digest of the token, never the token
+ * itself, and expire after the configured TTL or when the token expires, whichever is first.
+ * A user's entries are dropped when their password or roles change; other saves keep them.
+ */
+@Component
+public class TokenAuthenticationCache
+{
+    private final long ttlMillis;
+    private final int maxSize;
+    private final ConcurrentMap<String, CachedAuthentication> entries = new ConcurrentHashMap<>();
+    // Only users with cached tokens are tracked, so this shrinks with the entries
+    private final ConcurrentMap<String, UserTokens> tokensByUsername = new ConcurrentHashMap<>();
+    private final InvalidationGenerations generations;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TokenAuthenticationCache(@Value("${questify.auth.cache.ttl-seconds:60}") long ttlSeconds,
+                                    @Value("${questify.auth.cache.max-size:10000}") int maxSize,
+                                    MeterRegistry meterRegistry)
+    {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+        this.generations = new InvalidationGenerations(maxSize);
+        this.hits = Counter.builder("questify.auth.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("questify.auth.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param token The raw JWT.
+     * @return The cached authentication, or null if the token isn't cached or its entry expired.
+     */
+    public UsernamePasswordAuthenticationToken get(String token)
+    {
+        CachedAuthentication cached = entries.get(digest(token));
+        if (cached == null || cached.expiresAt <= System.currentTimeMillis())
+        {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.authentication;
+    }
+
+    /**
+     * Marks the start of a validation for a user. Pass the stamp to {@link #put} so a result
+     * computed before a concurrent invalidation of the same user is not cached.
+     */
+    public long stamp(String username)
+    {
+        return generations.stamp(username);
+    }
+
+    /**
+     * Caches a validated token until the TTL elapses or the token expires.
+     *
+     * @param token          The raw JWT.
+     * @param authentication The authentication built from the token.
+     * @param tokenExpiry    The expiration of the token.
+     * @param stamp          The value of {@link #stamp(String)} taken before the user was loaded.
+     */
+    public void put(String token, UsernamePasswordAuthenticationToken authentication, Date tokenExpiry, long stamp)
+    {
+        if (ttlMillis <= 0 || tokenExpiry == null)
+        {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(now + ttlMillis, tokenExpiry.getTime());
+        if (expiresAt <= now || !hasRoom(now))
+        {
+            return;
+        }
+
+        String digest = digest(token);
+        String username = authentication.getName();
+        String credentials = authentication.getPrincipal() instanceof UserDetails userDetails
+                ? fingerprint(userDetails.getPassword(),
+                userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                : "";
+        tokensByUsername.compute(username, (key, tokens) ->
+        {
+            UserTokens updated = tokens != null ? tokens : new UserTokens(credentials, ConcurrentHashMap.newKeySet());
+            updated.digests().add(digest);
+            return updated;
+        });
+        entries.put(digest, new CachedAuthentication(authentication, username, expiresAt));
+
+        // The user was invalidated while this validation ran; drop only what was just cached
+        if (stamp != stamp(username))
+        {
+            entries.remove(digest);
+            forgetDigest(username, digest);
+        }
+    }
+
+    /**
+     * Called whenever a user is saved. Drops their cached tokens only if the password hash or
+     * the roles differ from what their cached tokens were built with, so XP, gold or streak
+     * saves keep them. Users without cached tokens only have their validations in flight dropped.
+     *
+     * @param username     The saved user.
+     * @param passwordHash The stored password hash.
+     * @param authorities  The granted authorities, e.g. ROLE_USER.
+     */
+    public void credentialsSaved(String username, String passwordHash, Collection<String> authorities)
+    {
+        UserTokens cached = tokensByUsername.get(username);
+        if (cached == null || !cached.credentials().equals(fingerprint(passwordHash, authorities)))
+        {
+            invalidateUser(username);
+        }
+    }
+
+    /**
+     * Drops every cached token of a user, e.g. after their password or roles changed.
+     */
+    public void invalidateUser(String username)
+    {
+        generations.invalidate(username);
+        UserTokens tokens = tokensByUsername.remove(username);
+        if (tokens != null)
+        {
+            tokens.digests().forEach(entries::remove);
+        }
+    }
+
+    public void invalidateAll()
+    {
+        generations.invalidateAll();
+        tokensByUsername.clear();
+        entries.clear();
+    }
+
+    // Users with cached tokens
+    int trackedUsers()
+    {
+        return tokensByUsername.size();
+    }
+
+    // Evicts expired entries once the cache is full; new tokens are not cached while it stays full
+    private boolean hasRoom(long now)
+    {
+        if (entries.size() < maxSize)
+        {
+            return true;
+        }
+        entries.entrySet().removeIf(entry ->
+        {
+            if (entry.getValue().expiresAt > now)
+            {
+                return false;
+            }
+            forgetDigest(entry.getValue().username, entry.getKey());
+            return true;
+        });
+        return entries.size() < maxSize;
+    }
+
+    // A user whose last token goes is no longer tracked
+    private void forgetDigest(String username, String digest)
+    {
+        tokensByUsername.computeIfPresent(username, (key, tokens) ->
+        {
+            tokens.digests().remove(digest);
+            return tokens.digests().isEmpty() ? null : tokens;
+        });
+    }
+
+    // Digested so the map holds no password hashes of its own
+    private static String fingerprint(String passwordHash, Collection<String> authorities)
+    {
+        return digest(passwordHash + "|" + String.join(",", new TreeSet<>(authorities)));
+    }
+
+    private static String digest(String token)
+    {
+        try
+        {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The cached tokens of a user, and a digest of the password hash and roles they were built with.
+     */
+    private record UserTokens(String credentials, Set<String> digests)
+    {
+    }
+
+    private record CachedAuthentication(UsernamePasswordAuthenticationToken authentication, String username,
+                                        long expiresAt)
+    {
+    }
+}
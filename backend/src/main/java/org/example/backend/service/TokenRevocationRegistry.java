@@ -0,0 +1,129 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.backend.entity.User;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Record of revoked tokens, checked on every request without touching Mongo. Revoking a user
+ * rejects every token issued to them before that second; tokens from a later login stay valid.
+ * <p>
+ * The cutoff is stored on the user, so it survives restarts and reaches every replica. Each
+ * replica loads the recent cutoffs at startup and then polls for new ones, so a revocation made
+ * on another replica takes effect there within {@code questify.auth.revocation.sync-ms}.
+ */
+@Component
+public class TokenRevocationRegistry
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    // Cutoffs are written with the revoking replica's clock; look back a little for clock skew
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private static final Duration TOKEN_VALIDITY = Duration.ofMillis(JwtUtil.TOKEN_VALIDITY);
+
+    private final ConcurrentMap<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private final TokenAuthenticationCache authenticationCache;
+    private final UserRepository userRepository;
+    private volatile Instant syncedAt;
+
+    public TokenRevocationRegistry(TokenAuthenticationCache authenticationCache, UserRepository userRepository)
+    {
+        this.authenticationCache = authenticationCache;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Revokes every token issued to the user so far, on all replicas.
+     *
+     * @param username The user whose tokens to revoke.
+     */
+    public void revokeAll(String username)
+    {
+        // Tokens carry their issue time in whole seconds. A cutoff in whole seconds keeps a login
+        // right after the revocation valid; a token issued earlier in the same second survives
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userRepository.revokeTokens(username, cutoff);
+        apply(username, cutoff);
+    }
+
+    /**
+     * @param username The subject of the token.
+     * @param issuedAt The issue time of the token, in whole seconds.
+     * @return Whether the token was issued before its user was revoked.
+     */
+    public boolean isRevoked(String username, Date issuedAt)
+    {
+        Instant cutoff = revokedBefore.get(username);
+        if (cutoff == null)
+        {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().isBefore(cutoff);
+    }
+
+    @PostConstruct
+    public void loadAtStartup()
+    {
+        // Tokens older than their validity are rejected anyway
+        sync(Instant.now().minus(TOKEN_VALIDITY));
+    }
+
+    /**
+     * Picks up revocations made on other replicas, and forgets cutoffs no live token can predate.
+     */
+    @Scheduled(fixedDelayString = "${questify.auth.revocation.sync-ms:5000}",
+            initialDelayString = "${questify.auth.revocation.sync-ms:5000}")
+    public void syncFromDatabase()
+    {
+        Instant oldestLiveToken = Instant.now().minus(TOKEN_VALIDITY);
+        revokedBefore.values().removeIf(cutoff -> cutoff.isBefore(oldestLiveToken));
+        Instant since = syncedAt.minus(SYNC_OVERLAP);
+        sync(since.isAfter(oldestLiveToken) ? since : oldestLiveToken);
+    }
+
+    private void sync(Instant since)
+    {
+        Instant startedAt = Instant.now();
+        try
+        {
+            for (User user : userRepository.findTokenRevocationsSince(since))
+            {
+                apply(user.getUsername(), user.getTokensRevokedBefore());
+            }
+            syncedAt = startedAt;
+        } catch (DataAccessException e)
+        {
+            // Retried from the same point on the next run
+            LOGGER.warn("Could not load token revocations: {}", e.getMessage());
+            if (syncedAt == null)
+            {
+                syncedAt = since;
+            }
+        }
+    }
+
+    private void apply(String username, Instant cutoff)
+    {
+        Instant previous = revokedBefore.get(username);
+        if (previous != null && !cutoff.isAfter(previous))
+        {
+            // Already applied, typically picked up again by the sync overlap
+            return;
+        }
+        revokedBefore.merge(username, cutoff, (current, added) -> added.isAfter(current) ? added : current);
+        authenticationCache.invalidateUser(username);
+    }
+}
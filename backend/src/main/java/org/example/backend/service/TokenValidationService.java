@@ -1,16 +1,23 @@
 package org.example.backend.service;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import org.example.backend.config.AuthenticatedUser;
 import org.example.backend.util.JwtUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Service responsible for JWT token validation and processing.
  * Uses JwtUtil to parse tokens and UserDetailsService to load user information.
@@ -22,37 +29,67 @@ public class TokenValidationService implements TokenValidator
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenAuthenticationCache authenticationCache;
+    private final TokenRevocationRegistry revocationRegistry;
 
-    public TokenValidationService(JwtUtil jwtUtil, @Lazy UserDetailsService userDetailsService)
+    public TokenValidationService(JwtUtil jwtUtil, @Lazy UserDetailsService userDetailsService,
+                                  TokenAuthenticationCache authenticationCache,
+                                  TokenRevocationRegistry revocationRegistry)
     {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.authenticationCache = authenticationCache;
+        this.revocationRegistry = revocationRegistry;
     }
 
     /**
      * Validates the JWT token and creates an Authentication object if valid.
+     * Tokens validated recently are served from the cache without loading the user.
      *
      * @param token JWT token to validate
      * @return Authentication object or null if token is invalid
      */
     public UsernamePasswordAuthenticationToken validateToken(String token)
     {
+        UsernamePasswordAuthenticationToken cached = authenticationCache.get(token);
+        if (cached != null)
+        {
+            return cached;
+        }
+
         try
         {
-            String username = jwtUtil.extractUsername(token);
+            // Signature and expiration are verified here, once per token
+            Claims claims = jwtUtil.parseVerifiedClaims(token);
+            String username = claims.getSubject();
             if (username == null)
             {
                 logger.warn("Invalid JWT token - no username extracted");
                 return null;
             }
+            if (revocationRegistry.isRevoked(username, claims.getIssuedAt()))
+            {
+                logger.warn("Revoked JWT token used for user: {}", username);
+                return null;
+            }
 
+            // Stateless tokens carry everything needed, so the user isn't loaded at all
+            String userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class);
+            if (userId != null && jwtUtil.isStatelessPrincipal())
+            {
+                return authenticationFromClaims(claims, username, userId);
+            }
+
+            long stamp = authenticationCache.stamp(username);
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(token, userDetails.getUsername()))
+            if (username.equals(userDetails.getUsername()))
             {
                 logger.debug("Token validated for user: {}", username);
-                return new UsernamePasswordAuthenticationToken(
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
+                authenticationCache.put(token, authentication, claims.getExpiration(), stamp);
+                return authentication;
             } else
             {
                 logger.warn("Token validation failed for user: {}", username);
@@ -70,4 +107,18 @@ public class TokenValidationService implements TokenValidator
 
         return null;
     }
+
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(Claims claims, String username, String userId)
+    {
+        List<?> roleClaim = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        Set<String> roles = roleClaim == null || roleClaim.isEmpty()
+                ? Set.of("USER")
+                : roleClaim.stream().map(String::valueOf).collect(Collectors.toSet());
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+
+        logger.debug("Stateless token validated for user: {}", username);
+        return new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, username, roles), null, authorities);
+    }
 }
\ No newline at end of file
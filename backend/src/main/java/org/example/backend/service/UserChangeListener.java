@@ -0,0 +1,48 @@
+package org.example.backend.service;
+
+import org.bson.Document;
+import org.example.backend.entity.User;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Drops cached authentications when a user's password or roles change, or a user is deleted,
+ * so the change takes effect on the next request. The user summary cache is
+ * dropped as well, for saves that don't go through UserService (e.g. seeding or tests).
+ */
+@Component
+public class UserChangeListener extends AbstractMongoEventListener<User>
+{
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+    private final UserSummaryCache userSummaryCache;
+
+    public UserChangeListener(TokenAuthenticationCache tokenAuthenticationCache, UserSummaryCache userSummaryCache)
+    {
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
+        this.userSummaryCache = userSummaryCache;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event)
+    {
+        User user = event.getSource();
+        List<String> authorities = Arrays.stream(UserService.resolveRoles(user))
+                .map(role -> "ROLE_" + role)
+                .toList();
+        tokenAuthenticationCache.credentialsSaved(user.getUsername(), user.getPassword(), authorities);
+        userSummaryCache.invalidate(user.getId(), user.getUsername());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event)
+    {
+        // Only the delete query is known here, not the username, so start over
+        tokenAuthenticationCache.invalidateAll();
+        userSummaryCache.invalidateAll();
+    }
+}
@@ -1,10 +1,18 @@
 package org.example.backend.service;
 
+import org.example.backend.config.MongoIndexes;
+import org.example.backend.config.StoredUserDetails;
 import org.example.backend.dto.UserStatsUpdate;
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.User;
 import org.example.backend.exceptions.UserAlreadyExistsException;
 import org.example.backend.repository.UserRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.example.backend.util.LevelCurve;
+import org.example.backend.util.OptimisticRetry;
+import org.example.backend.util.PersistenceVerification;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,8 +22,12 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
 @Service
 public class UserService implements UserDetailsService
@@ -25,27 +37,35 @@ public class UserService implements UserDetailsService
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final UserStatsCoalescer userStatsCoalescer;
+    private final OptimisticRetry optimisticRetry;
+    private final PersistenceVerification persistenceVerification;
+    private final LevelCurve levelCurve;
+    private final UserSummaryCache userSummaryCache;
 
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SimpMessagingTemplate messagingTemplate)
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UserStatsCoalescer userStatsCoalescer, OptimisticRetry optimisticRetry,
+                       PersistenceVerification persistenceVerification, LevelCurve levelCurve,
+                       UserSummaryCache userSummaryCache)
     {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.messagingTemplate = messagingTemplate;
+        this.userStatsCoalescer = userStatsCoalescer;
+        this.optimisticRetry = optimisticRetry;
+        this.persistenceVerification = persistenceVerification;
+        this.levelCurve = levelCurve;
+        this.userSummaryCache = userSummaryCache;
     }
 
-    private void sendUserStatsUpdate(User user)
+    /**
+     * Publishes the current gold and level of a user to their stats topic.
+     *
+     * @param user The user as just saved.
+     */
+    public void sendUserStatsUpdate(User user)
     {
-        UserStatsUpdate update = new UserStatsUpdate(
-                user.getId(),
-                user.getGold(),
-                user.getLevel()
-        );
-        messagingTemplate.convertAndSend(
-                "/topic/user-stats/" + user.getUsername(),
-                update
-        );
+        userStatsCoalescer.publish(user.getUsername(), UserStatsUpdate.of(user));
     }
 
 
@@ -78,7 +98,17 @@ public class UserService implements UserDetailsService
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try
+        {
+            savedUser = userRepository.save(user);
+        } catch (DuplicateKeyException e)
+        {
+            // Another registration took the name or email between the checks above and the insert
+            throw new UserAlreadyExistsException(e.getMessage() != null && e.getMessage().contains(MongoIndexes.USER_EMAIL_INDEX)
+                    ? "Email is already taken."
+                    : "Username is already taken.");
+        }
         sendUserStatsUpdate(savedUser);
         return savedUser;
     }
@@ -88,31 +118,41 @@ public class UserService implements UserDetailsService
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException
     {
-        log.info("Attempting to fetch user details for username: {}", username);
+        log.debug("Loading user details for username: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        log.info("User found: {}", user.getUsername());
-        log.info("Hashed password from DB: {}", user.getPassword());
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(resolveRoles(user))
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword()) // Hashed password from DB
-                .roles("USER") // Example role
-                .build();
+        // Only reads the cost from the hash, so checking on every load is cheap
+        return new StoredUserDetails(user.getUsername(), user.getPassword(), authorities,
+                user.getPassword() != null && passwordEncoder.upgradeEncoding(user.getPassword()));
     }
 
 
+    static String[] resolveRoles(User user)
+    {
+        // Users registered before roles were stored are regular users
+        if (user.getRoles() == null || user.getRoles().isEmpty())
+        {
+            return new String[]{"USER"};
+        }
+        return user.getRoles().toArray(String[]::new);
+    }
+
     /**
      * Fetches basic details of a user, including XP, level, and username.
+     * Only the summary fields are read from the database, and only on a cache miss.
      *
      * @param identifier The ID or Username of the user whose details to fetch.
-     * @return An optional User object with the details.
+     * @return A UserSummary with the details.
      * @throws IllegalArgumentException if the user is not found.
      */
-    public User getUserBasicDetails(String identifier)
+    public UserSummary getUserBasicDetails(String identifier)
     {
-        return resolveUser(identifier); // Reuses the helper method
+        return resolveSummary(identifier);
     }
 
 
@@ -128,35 +168,86 @@ public class UserService implements UserDetailsService
      */
     public User updateUserDetails(String identifier, Integer experience, Integer level, Integer streak)
     {
-        User user = resolveUser(identifier);
-
-        // Update XP if provided
-        if (experience != null)
+        User savedUser = updateUser(identifier, user ->
         {
-            user.setExperience(user.getExperience() + experience);
+            // Update XP if provided
+            if (experience != null)
+            {
+                addExperience(user, experience);
+            }
 
-            // Check for level-up
-            int xpForNextLevel = 100 * user.getLevel(); // Example: Level 2 requires 200 XP
-            while (user.getExperience() >= xpForNextLevel)
+            if (streak != null)
             {
-                user.setExperience(user.getExperience() - xpForNextLevel); // Carry extra XP to next level
-                user.setLevel(user.getLevel() + 1); // Increment the user's level
+                user.setStreak(streak);
+            }
+        });
+        sendUserStatsUpdate(savedUser);
 
 
-                xpForNextLevel = 100 * user.getLevel();
-            }
-        }
+        return savedUser;
+    }
+
 
-        if (streak != null)
+    /**
+     * Grants the rewards for a defeated boss with a single conditional update: XP and level,
+     * gold, and the badge if the user doesn't own it yet. Does not send a stats update,
+     * the caller notifies the user once with the returned state.
+     *
+     * @param userId The ID of the rewarded user.
+     * @param xp     The XP reward.
+     * @param gold   The gold reward.
+     * @param badge  The badge reward, or null for none.
+     * @return The rewarded user and whether the XP caused a level up.
+     * @throws IllegalArgumentException if the user is not found.
+     */
+    public RewardGrant grantBossReward(String userId, int xp, int gold, String badge)
+    {
+        return optimisticRetry.execute("user.reward", () ->
         {
-            user.setStreak(streak);
-        }
+            User user = resolveUser(userId);
+            int initialLevel = user.getLevel();
+            addExperience(user, xp);
 
-        User savedUser = saveUser(user);
-        sendUserStatsUpdate(savedUser);
+            User rewarded = userRepository.applyReward(user.getId(), user.getVersion(),
+                    user.getLevel(), user.getExperience(), gold, badge);
+            if (rewarded == null)
+            {
+                throw new OptimisticLockingFailureException("User " + userId + " changed while granting a reward");
+            }
+            userSummaryCache.invalidate(rewarded.getId(), rewarded.getUsername());
+            return new RewardGrant(rewarded, rewarded.getLevel() > initialLevel);
+        });
+    }
 
+    public record RewardGrant(User user, boolean causedLevelUp)
+    {
+    }
 
-        return savedUser;
+    // Adds XP and levels up as far as it reaches, carrying the rest over to the next level
+    private void addExperience(User user, int experience)
+    {
+        LevelCurve.LevelProgress progress = levelCurve.addExperience(user.getLevel(), user.getExperience(), experience);
+        user.setLevel(progress.level());
+        user.setExperience(progress.experience());
+    }
+
+    /**
+     * Loads a user, applies the given changes and saves it.
+     * If another request saved the user in the meantime, the changes are re-applied to a fresh copy.
+     *
+     * @param identifier The ID or Username of the user to update.
+     * @param changes    The modifications to apply. May run more than once, so it must not have side effects.
+     * @return The saved User object.
+     * @throws IllegalArgumentException if the user is not found.
+     */
+    public User updateUser(String identifier, Consumer<User> changes)
+    {
+        return optimisticRetry.execute("user.update", () ->
+        {
+            User user = resolveUser(identifier);
+            changes.accept(user);
+            return saveUser(user);
+        });
     }
 
 
@@ -190,9 +281,7 @@ public class UserService implements UserDetailsService
      */
     public String getUserCurrentBossId(String identifier)
     {
-        User user = resolveUser(identifier); // Reuses the helper method
-
-        String currentBossId = user.getCurrentBossId();
+        String currentBossId = resolveSummary(identifier).getCurrentBossId();
         if (currentBossId == null)
         {
             throw new IllegalArgumentException("User is not fighting any boss.");
@@ -216,21 +305,34 @@ public class UserService implements UserDetailsService
                 .orElseThrow(() -> new IllegalArgumentException("User with username '" + identifier + "' not found."));
     }
 
-    public User saveUser(User user)
+    private UserSummary resolveSummary(String identifier)
     {
-        User savedUser = userRepository.save(user);
+        return userSummaryCache.get(identifier, this::loadSummary);
+    }
 
-        // Immediately fetch from DB to verify persistence
-        User verifiedUser = userRepository.findByUsername(user.getUsername()).orElse(null);
-        if (verifiedUser != null)
-        {
-            System.out.printf("Verified in DB - Username: %s, XP: %d, Level: %d%n",
-                    verifiedUser.getUsername(), verifiedUser.getExperience(), verifiedUser.getLevel());
-        } else
+    private UserSummary loadSummary(String identifier)
+    {
+        if (org.bson.types.ObjectId.isValid(identifier))
         {
-            System.out.println("Failed to verify user in DB after save!");
+            return userRepository.findSummaryById(identifier)
+                    .orElseThrow(() -> new IllegalArgumentException("User with ID '" + identifier + "' not found."));
         }
 
+        return userRepository.findSummaryByUsername(identifier)
+                .orElseThrow(() -> new IllegalArgumentException("User with username '" + identifier + "' not found."));
+    }
+
+    public User saveUser(User user)
+    {
+        User savedUser = userRepository.save(user);
+        userSummaryCache.invalidate(savedUser.getId(), savedUser.getUsername());
+
+        // Optional read-after-write check, off by default since it doubles the Mongo traffic of every save
+        persistenceVerification.verify("user", () -> userRepository.findById(savedUser.getId()), stored ->
+                Objects.equals(stored.getVersion(), savedUser.getVersion())
+                        && stored.getExperience() == savedUser.getExperience()
+                        && stored.getLevel() == savedUser.getLevel());
+
         return savedUser;
     }
 
@@ -0,0 +1,134 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dto.UserStatsUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes user stats updates to `/topic/user-stats/{username}`, at most once per window and user.
+ * The first update of a window schedules the flush; updates arriving before it replace the pending
+ * one, so e.g. a boss kill sends the final stats once instead of one message per write.
+ * A window of 0 publishes every update immediately.
+ */
+@Component
+public class UserStatsCoalescer
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserStatsCoalescer.class);
+    private static final String DESTINATION_PREFIX = "/topic/user-stats/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long windowMillis;
+    private final ConcurrentMap<String, UserStatsUpdate> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Counter sent;
+    private final Counter merged;
+    private final Counter dropped;
+
+    public UserStatsCoalescer(SimpMessagingTemplate messagingTemplate,
+                              @Value("${questify.websocket.user-stats.window-ms:100}") long windowMillis,
+                              MeterRegistry meterRegistry)
+    {
+        if (windowMillis < 0)
+        {
+            throw new IllegalArgumentException("User stats window must not be negative");
+        }
+        this.messagingTemplate = messagingTemplate;
+        this.windowMillis = windowMillis;
+        this.flusher = windowMillis > 0
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("user-stats-flush").daemon().factory())
+                : null;
+        this.sent = Counter.builder("questify.websocket.user-stats.sent")
+                .description("User stats messages published to the broker")
+                .register(meterRegistry);
+        this.merged = Counter.builder("questify.websocket.user-stats.merged")
+                .description("User stats updates replaced by a later one before they were published")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("questify.websocket.user-stats.dropped")
+                .description("User stats updates that could not be published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the update as the latest stats of the user, to be published when the window closes.
+     *
+     * @param username The user whose topic receives the update.
+     * @param update   The current stats of the user.
+     */
+    public void publish(String username, UserStatsUpdate update)
+    {
+        if (flusher == null)
+        {
+            send(username, update);
+            return;
+        }
+
+        // Only the update that opens the window schedules a flush; the flush removes the entry,
+        // so the next update after it opens a new window
+        if (pending.put(username, update) != null)
+        {
+            merged.increment();
+            return;
+        }
+        try
+        {
+            flusher.schedule(() -> flush(username), windowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e)
+        {
+            // Shutting down
+            flush(username);
+        }
+    }
+
+    /**
+     * Publishes every pending update right away.
+     */
+    @PreDestroy
+    public void flushAll()
+    {
+        if (flusher != null)
+        {
+            flusher.shutdown();
+        }
+        for (String username : pending.keySet())
+        {
+            flush(username);
+        }
+    }
+
+    private void flush(String username)
+    {
+        UserStatsUpdate latest = pending.remove(username);
+        if (latest != null)
+        {
+            send(username, latest);
+        }
+    }
+
+    private void send(String username, UserStatsUpdate update)
+    {
+        try
+        {
+            messagingTemplate.convertAndSend(DESTINATION_PREFIX + username, update);
+            sent.increment();
+        } catch (MessagingException e)
+        {
+            // Stats are pushed again with the next change, so a lost update isn't retried
+            dropped.increment();
+            LOGGER.warn("Could not publish stats update for {}", username, e);
+        }
+    }
+}
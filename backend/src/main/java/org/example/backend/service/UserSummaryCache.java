@@ -0,0 +1,216 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.example.backend.dto.UserSummary;
+import org.example.backend.util.InvalidationGenerations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of user summaries, resolved by ID or username.
+ * Two tiers: a memo that lives for one HTTP request, and a shared cache whose entries expire
+ * after a short TTL. Both lookups of a user share one entry, the username only points to the ID.
+ * The shared TTL bounds how stale a summary can get when another replica changed the user.
+ */
+@Component
+public class UserSummaryCache
+{
+    private static final String MEMO_ATTRIBUTE = UserSummaryCache.class.getName() + ".memo";
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final ConcurrentMap<String, CachedSummary> summariesById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsByUsername = new ConcurrentHashMap<>();
+    private final InvalidationGenerations generations;
+    private final Counter requestHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    public UserSummaryCache(@Value("${questify.user.cache.ttl-seconds:5}") long ttlSeconds,
+                            @Value("${questify.user.cache.max-size:10000}") int maxSize,
+                            MeterRegistry meterRegistry)
+    {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+        // An ID and a username per user
+        this.generations = new InvalidationGenerations(2 * maxSize);
+        this.requestHits = counter(meterRegistry, "hit", "request");
+        this.sharedHits = counter(meterRegistry, "hit", "shared");
+        this.misses = counter(meterRegistry, "miss", "none");
+    }
+
+    /**
+     * Returns the cached summary of a user, loading and caching it on a miss.
+     *
+     * @param identifier The ID or username of the user.
+     * @param loader     Loads the summary from the database; may throw if the user doesn't exist.
+     */
+    public UserSummary get(String identifier, Function<String, UserSummary> loader)
+    {
+        Map<String, UserSummary> memo = requestMemo();
+        UserSummary summary = memo != null ? memo.get(identifier) : null;
+        if (summary != null)
+        {
+            requestHits.increment();
+            return summary;
+        }
+
+        summary = getShared(identifier);
+        if (summary != null)
+        {
+            sharedHits.increment();
+        } else
+        {
+            misses.increment();
+            long stamp = generations.stamp(identifier);
+            summary = loader.apply(identifier);
+            putShared(identifier, summary, stamp);
+        }
+
+        if (memo != null)
+        {
+            memo.put(identifier, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Drops the cached summary of a user, after it was changed. Loads of other users in flight
+     * are still cached.
+     */
+    public void invalidate(String userId, String username)
+    {
+        if (username != null)
+        {
+            generations.invalidate(username);
+            String mappedId = idsByUsername.remove(username);
+            if (mappedId != null)
+            {
+                summariesById.remove(mappedId);
+            }
+        }
+        if (userId != null)
+        {
+            generations.invalidate(userId);
+            CachedSummary removed = summariesById.remove(userId);
+            if (removed != null)
+            {
+                idsByUsername.remove(removed.summary.getUsername(), userId);
+            }
+        }
+        clearRequestMemo();
+    }
+
+    public void invalidateAll()
+    {
+        generations.invalidateAll();
+        idsByUsername.clear();
+        summariesById.clear();
+        clearRequestMemo();
+    }
+
+    private UserSummary getShared(String identifier)
+    {
+        String userId = ObjectId.isValid(identifier) ? identifier : idsByUsername.get(identifier);
+        if (userId == null)
+        {
+            return null;
+        }
+        CachedSummary cached = summariesById.get(userId);
+        if (cached == null || cached.expiresAt <= System.currentTimeMillis())
+        {
+            return null;
+        }
+        return cached.summary;
+    }
+
+    private void putShared(String identifier, UserSummary summary, long stamp)
+    {
+        long now = System.currentTimeMillis();
+        if (ttlMillis <= 0 || summary.getId() == null || !hasRoom(now))
+        {
+            return;
+        }
+
+        summariesById.put(summary.getId(), new CachedSummary(summary, now + ttlMillis));
+        idsByUsername.put(summary.getUsername(), summary.getId());
+
+        // The user changed while it was being loaded; don't keep what might be the old state.
+        // Every invalidation names both the ID and the username, so the looked-up key suffices
+        if (generations.stamp(identifier) != stamp)
+        {
+            summariesById.remove(summary.getId());
+            idsByUsername.remove(summary.getUsername(), summary.getId());
+        }
+    }
+
+    // Evicts expired entries once the cache is full; new users are not cached while it stays full
+    private boolean hasRoom(long now)
+    {
+        if (summariesById.size() < maxSize)
+        {
+            return true;
+        }
+        summariesById.entrySet().removeIf(entry ->
+        {
+            if (entry.getValue().expiresAt > now)
+            {
+                return false;
+            }
+            idsByUsername.remove(entry.getValue().summary.getUsername(), entry.getKey());
+            return true;
+        });
+        return summariesById.size() < maxSize;
+    }
+
+    // Outside an HTTP request (schedulers, WebSocket handlers) there is no memo
+    @SuppressWarnings("unchecked")
+    private static Map<String, UserSummary> requestMemo()
+    {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null)
+        {
+            return null;
+        }
+        Map<String, UserSummary> memo =
+                (Map<String, UserSummary>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null)
+        {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private static void clearRequestMemo()
+    {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null)
+        {
+            attributes.removeAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String tier)
+    {
+        return Counter.builder("questify.user.cache")
+                .description("User summary lookups by cache tier")
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    private record CachedSummary(UserSummary summary, long expiresAt)
+    {
+    }
+}
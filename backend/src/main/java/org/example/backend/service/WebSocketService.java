@@ -1,22 +1,21 @@
 package org.example.backend.service;
 
 import org.example.backend.dto.UserStatsUpdate;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.example.backend.entity.User;
 import org.springframework.stereotype.Service;
 
 @Service
 public class WebSocketService
 {
-    private final SimpMessagingTemplate messagingTemplate;
+    private final UserStatsCoalescer userStatsCoalescer;
 
-    public WebSocketService(SimpMessagingTemplate messagingTemplate)
+    public WebSocketService(UserStatsCoalescer userStatsCoalescer)
     {
-        this.messagingTemplate = messagingTemplate;
+        this.userStatsCoalescer = userStatsCoalescer;
     }
 
-    public void sendUserStatsUpdate(String username, int gold, int level)
+    public void sendUserStatsUpdate(User user)
     {
-        UserStatsUpdate update = new UserStatsUpdate(username, gold, level);
-        messagingTemplate.convertAndSend("/topic/user-stats/" + username, update);
+        userStatsCoalescer.publish(user.getUsername(), UserStatsUpdate.of(user));
     }
 }
@@ -0,0 +1,60 @@
+package org.example.backend.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key invalidation stamps for read-through caches. A fill takes {@link #stamp} of its key
+ * before loading and keeps the result only if the stamp is unchanged afterwards, so an
+ * invalidation of one key never discards fills of other keys.
+ * <p>
+ * Stamps come from one increasing sequence, and keys without their own stamp share a floor.
+ * When more than `maxKeys` keys are tracked they are dropped and the floor is raised past them,
+ * which only costs the fills that are in flight at that moment.
+ */
+public class InvalidationGenerations
+{
+    private final int maxKeys;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+    private volatile long floor;
+
+    public InvalidationGenerations(int maxKeys)
+    {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @return The current stamp of the key; changes whenever the key is invalidated.
+     */
+    public long stamp(String key)
+    {
+        Long generation = generations.get(key);
+        return generation != null ? generation : floor;
+    }
+
+    public void invalidate(String key)
+    {
+        generations.put(key, sequence.incrementAndGet());
+        if (generations.size() > maxKeys)
+        {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Changes the stamp of every key and forgets the tracked ones.
+     */
+    public void invalidateAll()
+    {
+        long raised = sequence.incrementAndGet();
+        floor = raised;
+        generations.values().removeIf(generation -> generation <= raised);
+    }
+
+    public int size()
+    {
+        return generations.size();
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.backend.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.JwtException;
@@ -8,10 +9,12 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -21,19 +24,29 @@ import org.slf4j.LoggerFactory;
 public class JwtUtil
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtUtil.class);
-    private static final long TOKEN_VALIDITY = 1000L * 60 * 60 * 10; // 10 hours
+    public static final long TOKEN_VALIDITY = 1000L * 60 * 60 * 10; // 10 hours
     private static final int MIN_SECRET_LENGTH = 32;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
 
-    private Key secretKey;
+    private SecretKey secretKey;
+    private JwtParser parser; // Thread-safe, built once since the key never changes
 
     @Value("${JWT_SECRET:#{environment.JWT_SECRET}}")
     private String secretKeyString;
 
+    // Embed the user ID and roles, so requests can be authenticated from the token alone
+    @Value("${questify.auth.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @PostConstruct
     public void init()
     {
         validateSecretKey();
         this.secretKey = Keys.hmacShaKeyFor(secretKeyString.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     private void validateSecretKey()
@@ -59,6 +72,35 @@ public class JwtUtil
         return createToken(new HashMap<>(), username);
     }
 
+    /**
+     * Generates a token that also carries the user ID and roles when stateless principals are enabled.
+     *
+     * @param username The subject of the token.
+     * @param userId   The ID of the user.
+     * @param roles    The roles of the user, without the ROLE_ prefix.
+     * @return The signed token.
+     */
+    public String generateToken(String username, String userId, Collection<String> roles)
+    {
+        if (!statelessPrincipal)
+        {
+            return generateToken(username);
+        }
+        if (username == null || username.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Username cannot be null or empty");
+        }
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(ROLES_CLAIM, List.copyOf(roles));
+        return createToken(claims, username);
+    }
+
+    public boolean isStatelessPrincipal()
+    {
+        return statelessPrincipal;
+    }
+
     private String createToken(Map<String, Object> claims, String subject)
     {
         long currentTimeMillis = System.currentTimeMillis();
@@ -77,6 +119,21 @@ public class JwtUtil
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Parses the token once, verifying its signature and expiration.
+     * Read every needed claim from the result instead of calling the extract methods one by one,
+     * since each of those parses and verifies the token again.
+     *
+     * @param token The JWT to parse.
+     * @return The verified claims.
+     * @throws JwtException if the token is malformed, wrongly signed or expired.
+     */
+    public Claims parseVerifiedClaims(String token)
+    {
+        validateToken(token);
+        return extractAllClaims(token);
+    }
+
     public boolean validateToken(String token, String username)
     {
         if (token == null || username == null)
@@ -85,8 +142,8 @@ public class JwtUtil
         }
         try
         {
-            final String extractedUsername = extractUsername(token);
-            return extractedUsername.equals(username) && !isTokenExpired(token);
+            final Claims claims = parseVerifiedClaims(token);
+            return username.equals(claims.getSubject()) && !claims.getExpiration().before(new Date());
         } catch (JwtException e)
         {
             LOGGER.warn("Invalid JWT token: {}", e.getMessage());
@@ -102,11 +159,6 @@ public class JwtUtil
         }
     }
 
-    private boolean isTokenExpired(String token)
-    {
-        return extractExpiration(token).before(new Date());
-    }
-
     public Date extractExpiration(String token)
     {
         validateToken(token);
@@ -124,14 +176,10 @@ public class JwtUtil
     {
         try
         {
-            return Jwts.parser()
-                    .keyLocator(request -> secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException e)
         {
-            LOGGER.error("Failed to parse JWT token: {}", e.getMessage());
+            LOGGER.warn("Failed to parse JWT token: {}", e.getMessage());
             throw new JwtException("Invalid token");
         }
     }
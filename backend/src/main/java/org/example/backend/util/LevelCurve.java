@@ -0,0 +1,68 @@
+package org.example.backend.util;
+
+/**
+ * Maps accumulated XP to levels. Users start at level 1, and a user's stored `experience`
+ * is the XP earned since reaching their current level.
+ * Implementations only define the XP needed per level; {@link #levelForTotalXp} can be
+ * overridden when the curve has a closed-form inverse.
+ */
+public interface LevelCurve
+{
+    /**
+     * @param level A level, starting at 1.
+     * @return The total XP needed to get from level 1 to the given level.
+     */
+    long totalXpForLevel(int level);
+
+    /**
+     * Finds the highest level reachable with the given total XP, by binary search over the curve.
+     *
+     * @param totalXp The XP accumulated since level 1.
+     * @return The level, at least 1.
+     */
+    default int levelForTotalXp(long totalXp)
+    {
+        int low = 1;
+        int high = 2;
+        while (high < Integer.MAX_VALUE / 2 && totalXpForLevel(high) <= totalXp)
+        {
+            low = high;
+            high *= 2;
+        }
+
+        // Invariant: totalXpForLevel(low) <= totalXp < totalXpForLevel(high)
+        while (high - low > 1)
+        {
+            int mid = (low + high) >>> 1;
+            if (totalXpForLevel(mid) <= totalXp)
+            {
+                low = mid;
+            } else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adds XP to a user's progress and levels up as far as the XP allows, carrying the rest over.
+     * Negative XP lowers the XP within the current level but never removes a level.
+     *
+     * @param level      The current level.
+     * @param experience The XP earned within the current level.
+     * @param gainedXp   The XP to add.
+     * @return The resulting level and XP within that level.
+     */
+    default LevelProgress addExperience(int level, int experience, long gainedXp)
+    {
+        long totalXp = totalXpForLevel(level) + experience + gainedXp;
+        int newLevel = Math.max(level, levelForTotalXp(totalXp));
+        long remainingXp = totalXp - totalXpForLevel(newLevel);
+        return new LevelProgress(newLevel, (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, remainingXp)));
+    }
+
+    record LevelProgress(int level, int experience)
+    {
+    }
+}
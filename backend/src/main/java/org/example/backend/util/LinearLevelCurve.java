@@ -0,0 +1,53 @@
+package org.example.backend.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The original Questify curve: going from level L to L + 1 takes `base * L` XP,
+ * so reaching level L takes base * L * (L - 1) / 2 XP in total.
+ * The inverse is solved in O(1) instead of looping once per level gained.
+ */
+@Component
+public class LinearLevelCurve implements LevelCurve
+{
+    private final long baseXp;
+
+    public LinearLevelCurve(@Value("${questify.level.base-xp:100}") long baseXp)
+    {
+        if (baseXp < 1)
+        {
+            throw new IllegalArgumentException("Base XP must be at least 1");
+        }
+        this.baseXp = baseXp;
+    }
+
+    @Override
+    public long totalXpForLevel(int level)
+    {
+        return baseXp * level * (level - 1L) / 2;
+    }
+
+    @Override
+    public int levelForTotalXp(long totalXp)
+    {
+        if (totalXp < baseXp)
+        {
+            return 1;
+        }
+
+        // Largest L with base * L * (L - 1) / 2 <= totalXp, from the quadratic formula
+        int level = (int) Math.floor((1 + Math.sqrt(1 + 8.0 * totalXp / baseXp)) / 2);
+
+        // Correct floating-point rounding at exact level boundaries
+        while (totalXpForLevel(level) > totalXp)
+        {
+            level--;
+        }
+        while (totalXpForLevel(level + 1) <= totalXp)
+        {
+            level++;
+        }
+        return level;
+    }
+}
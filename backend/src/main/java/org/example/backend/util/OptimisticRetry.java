@@ -0,0 +1,98 @@
+package org.example.backend.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry-with-backoff for read-modify-write operations on versioned documents.
+ * The action must re-read the document on every attempt, so a retry works on fresh state.
+ */
+@Component
+public class OptimisticRetry
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final MeterRegistry meterRegistry;
+
+    public OptimisticRetry(@Value("${questify.retry.max-attempts:5}") int maxAttempts,
+                           @Value("${questify.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+                           @Value("${questify.retry.max-backoff-ms:200}") long maxBackoffMillis,
+                           MeterRegistry meterRegistry)
+    {
+        if (maxAttempts < 1)
+        {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the action, retrying on version conflicts with exponential backoff and jitter.
+     *
+     * @param operation Name of the operation, used as the metric tag.
+     * @param action    The read-modify-write to perform.
+     * @return The result of the first successful attempt.
+     * @throws OptimisticLockingFailureException if every attempt conflicted.
+     */
+    public <T> T execute(String operation, Supplier<T> action)
+    {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                return action.get();
+            } catch (OptimisticLockingFailureException e)
+            {
+                if (attempt >= maxAttempts)
+                {
+                    counter("questify.optimistic.exhausted", operation).increment();
+                    LOGGER.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw e;
+                }
+                counter("questify.optimistic.retries", operation).increment();
+                LOGGER.debug("Version conflict on {} (attempt {}), retrying", operation, attempt);
+                sleep(backoff);
+                backoff = Math.min(maxBackoffMillis, backoff * 2);
+            }
+        }
+    }
+
+    private Counter counter(String name, String operation)
+    {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private void sleep(long backoff)
+    {
+        if (backoff <= 0)
+        {
+            return;
+        }
+        try
+        {
+            // Full jitter spreads out writers that collided on the same document
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
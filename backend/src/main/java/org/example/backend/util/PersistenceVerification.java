@@ -0,0 +1,87 @@
+package org.example.backend.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Optional read-after-write check for saved documents.
+ * Every verification costs an extra Mongo read, so it is off by default and can be sampled.
+ */
+@Component
+public class PersistenceVerification
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistenceVerification.class);
+
+    public enum Mode
+    {
+        OFF,     // Never re-read
+        SAMPLED, // Re-read one in every `sample-rate` saves
+        ALWAYS   // Re-read after every save
+    }
+
+    private final Mode mode;
+    private final long sampleRate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong saves = new AtomicLong();
+
+    public PersistenceVerification(@Value("${questify.persistence-verification.mode:OFF}") Mode mode,
+                                   @Value("${questify.persistence-verification.sample-rate:100}") long sampleRate,
+                                   MeterRegistry meterRegistry)
+    {
+        if (sampleRate < 1)
+        {
+            throw new IllegalArgumentException("Sample rate must be at least 1");
+        }
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Re-reads a saved document if the mode selects this save, and records whether it matched.
+     *
+     * @param entity  Name of the saved entity, used as the metric tag.
+     * @param reread  Reads the document back from the database.
+     * @param matches Checks the stored document against what was saved.
+     */
+    public <T> void verify(String entity, Supplier<Optional<T>> reread, Predicate<T> matches)
+    {
+        if (!shouldVerify())
+        {
+            return;
+        }
+
+        Optional<T> stored = reread.get();
+        String outcome = stored.isEmpty() ? "missing" : matches.test(stored.get()) ? "match" : "mismatch";
+        if (!"match".equals(outcome))
+        {
+            LOGGER.warn("Persistence verification of {} failed: {}", entity, outcome);
+        }
+
+        Counter.builder("questify.persistence.verification")
+                .description("Read-after-write checks of saved documents")
+                .tag("entity", entity)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean shouldVerify()
+    {
+        return switch (mode)
+        {
+            case OFF -> false;
+            case SAMPLED -> saves.incrementAndGet() % sampleRate == 0;
+            case ALWAYS -> true;
+        };
+    }
+}
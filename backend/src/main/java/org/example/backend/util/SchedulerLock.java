@@ -0,0 +1,98 @@
+package org.example.backend.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Lease lock in the `schedulerLocks` collection, so a scheduled job runs on one replica only.
+ * The lease is released when the job finishes and otherwise expires, so a replica that died
+ * mid-run does not block the job for longer than the lease. A replica firing after the job
+ * finished runs it again, so jobs must be idempotent (the reset jobs only touch documents
+ * that still need a reset).
+ */
+@Component
+public class SchedulerLock
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchedulerLock.class);
+    static final String COLLECTION = "schedulerLocks";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+
+    public SchedulerLock(MongoTemplate mongoTemplate,
+                         @Value("${questify.scheduler.lock.lease:PT5M}") Duration lease)
+    {
+        if (lease.isNegative() || lease.isZero())
+        {
+            throw new IllegalArgumentException("Scheduler lock lease must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.lease = lease;
+    }
+
+    /**
+     * Runs the job if this replica gets the lease on it.
+     *
+     * @param name Name of the job, the ID of its lock document.
+     * @param job  The job to run.
+     * @return Whether the job ran here.
+     */
+    public boolean runExclusively(String name, Runnable job)
+    {
+        if (!tryAcquire(name))
+        {
+            LOGGER.info("Skipping {}, another instance holds the lock", name);
+            return false;
+        }
+        try
+        {
+            job.run();
+        } finally
+        {
+            release(name);
+        }
+        return true;
+    }
+
+    boolean tryAcquire(String name)
+    {
+        Date now = new Date();
+        Query available = Query.query(Criteria.where("_id").is(name)
+                .orOperator(
+                        Criteria.where("lockedUntil").lte(now),
+                        Criteria.where("owner").is(owner)));
+        Update acquire = new Update()
+                .set("owner", owner)
+                .set("lockedAt", now)
+                .set("lockedUntil", new Date(now.getTime() + lease.toMillis()));
+
+        try
+        {
+            // Inserts the lock document on first use; if it exists but is held, the insert hits the _id
+            mongoTemplate.upsert(available, acquire, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e)
+        {
+            return false;
+        }
+    }
+
+    void release(String name)
+    {
+        // Only ends our own lease; if it expired and another replica took over, that lease stays
+        Query ours = Query.query(Criteria.where("_id").is(name).and("owner").is(owner));
+        mongoTemplate.updateFirst(ours, new Update().set("lockedUntil", new Date()), COLLECTION);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBcryptPasswordEncoderTest
+{
+
+    @Test
+    void upgradeEncoding_FlagsHigherAndLowerCosts()
+    {
+        // Arrange
+        AdaptiveBcryptPasswordEncoder encoder = new AdaptiveBcryptPasswordEncoder(5);
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void upgradeEncoding_IgnoresNonBcryptValues()
+    {
+        AdaptiveBcryptPasswordEncoder encoder = new AdaptiveBcryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plaintext"));
+    }
+
+    @Test
+    void parseCost_ReadsCostFromHash()
+    {
+        assertEquals(12, AdaptiveBcryptPasswordEncoder.parseCost("$2a$12$abcdefghijklmnopqrstuv"));
+        assertEquals(-1, AdaptiveBcryptPasswordEncoder.parseCost("$2a$xy$abcdefghijklmnopqrstuv"));
+    }
+
+    @Test
+    void matches_AcceptsHashesOfAnyCost()
+    {
+        AdaptiveBcryptPasswordEncoder encoder = new AdaptiveBcryptPasswordEncoder(5);
+
+        assertTrue(encoder.matches("secret", new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.matches("wrong", new BCryptPasswordEncoder(4).encode("secret")));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exceptions.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest
+{
+
+    @Test
+    void encodeAndMatches_DelegateOnPool()
+    {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new ReversingEncoder(), 2, 4, 1, registry))
+        {
+            // Act
+            String encoded = encoder.encode("secret");
+
+            // Assert
+            assertEquals("terces", encoded);
+            assertTrue(encoder.matches("secret", encoded));
+            assertEquals(1, registry.get("questify.bcrypt.duration").tag("operation", "encode").timer().count());
+            assertEquals(1, registry.get("questify.bcrypt.duration").tag("operation", "matches").timer().count());
+        }
+    }
+
+    @Test
+    void encode_FailsFastWhenSaturated() throws InterruptedException
+    {
+        // Arrange: one busy thread and one queued task fill a pool of size 1 with queue capacity 1
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new ReversingEncoder()
+        {
+            @Override
+            public String encode(CharSequence rawPassword)
+            {
+                started.countDown();
+                try
+                {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 3, registry))
+        {
+            Thread running = new Thread(() -> encoder.encode("first"));
+            Thread queued = new Thread(() -> encoder.encode("second"));
+            running.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            queued.start();
+            while (registry.get("questify.bcrypt.queue.depth").gauge().value() < 1)
+            {
+                Thread.onSpinWait();
+            }
+
+            // Act
+            PasswordHashingUnavailableException exception =
+                    assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("third"));
+
+            // Assert
+            assertEquals(3, exception.getRetryAfterSeconds());
+            assertEquals(1, registry.get("questify.bcrypt.rejected").counter().count());
+
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+
+    // Cheap stand-in for BCrypt
+    private static class ReversingEncoder implements PasswordEncoder
+    {
+        @Override
+        public String encode(CharSequence rawPassword)
+        {
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword)
+        {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoConfigTest
+{
+
+    private static final String URI = "mongodb://localhost:27017/?maxPoolSize=50";
+
+    private final MongoPoolMetricsListener poolListener = new MongoPoolMetricsListener(new SimpleMeterRegistry());
+
+    @Test
+    void clientSettings_AppliesConfiguredValues()
+    {
+        // Arrange
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setMinPoolSize(5);
+        properties.setMaxPoolSize(120);
+        properties.setMaxWaitTime(Duration.ofMillis(500));
+        properties.setConnectTimeout(Duration.ofSeconds(3));
+        properties.setSocketTimeout(Duration.ofSeconds(10));
+        properties.setCompressors(List.of("zstd", "zlib"));
+        properties.setReadPreference("secondaryPreferred");
+        properties.setWriteConcern("majority");
+
+        // Act
+        MongoClientSettings settings = MongoConfig.clientSettings(URI, properties, poolListener);
+
+        // Assert
+        assertEquals(5, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(120, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(500, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(3000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(10000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zstd", "zlib"), settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+        assertEquals(ReadPreference.secondaryPreferred(), settings.getReadPreference());
+        assertEquals(WriteConcern.MAJORITY, settings.getWriteConcern());
+        assertTrue(settings.getConnectionPoolSettings().getConnectionPoolListeners().contains(poolListener));
+    }
+
+    @Test
+    void clientSettings_KeepsConnectionStringWhenUnset()
+    {
+        // Act
+        MongoClientSettings settings = MongoConfig.clientSettings(URI, new MongoClientProperties(), poolListener);
+
+        // Assert
+        assertEquals(50, settings.getConnectionPoolSettings().getMaxSize());
+        assertTrue(settings.getCompressorList().isEmpty());
+    }
+
+    @Test
+    void clientSettings_RejectsUnknownWriteConcern()
+    {
+        // Arrange
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setWriteConcern("sometimes");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> MongoConfig.clientSettings(URI, properties, poolListener));
+    }
+}
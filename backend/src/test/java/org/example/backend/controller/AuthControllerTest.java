@@ -0,0 +1,111 @@
+package org.example.backend.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.BoundedPasswordEncoder;
+import org.example.backend.service.PasswordRehashService;
+import org.example.backend.service.UserService;
+import org.example.backend.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest
+{
+
+    private static final String LOGIN_BODY = "{\"username\":\"nobody\",\"password\":\"password\"}";
+
+    @Test
+    void login_UnknownUserWithSaturatedPool_Returns503() throws Exception
+    {
+        // Arrange: one busy thread and one queued task fill a hashing pool of size 1 with queue capacity 1
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder()
+        {
+            @Override
+            public String encode(CharSequence rawPassword)
+            {
+                started.countDown();
+                try
+                {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword)
+            {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 3, registry))
+        {
+            // The provider hashes a dummy password for unknown users, so they hit the pool as well
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+            provider.setUserDetailsService(username ->
+            {
+                throw new UsernameNotFoundException("User not found with username: " + username);
+            });
+            AuthController controller = new AuthController(new ProviderManager(provider), mock(JwtUtil.class),
+                    mock(UserService.class), mock(PasswordRehashService.class));
+            MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+            Thread running = new Thread(() -> encoder.encode("first"));
+            Thread queued = new Thread(() -> encoder.encode("second"));
+            running.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            queued.start();
+            while (registry.get("questify.bcrypt.queue.depth").gauge().value() < 1)
+            {
+                Thread.onSpinWait();
+            }
+
+            // Act & Assert: a saturated pool, not a 401 as for wrong credentials
+            mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "3"));
+
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+
+    @Test
+    void login_UnknownUser_Returns401() throws Exception
+    {
+        // Arrange
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(mock(PasswordEncoder.class));
+        provider.setUserDetailsService(username ->
+        {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        });
+        AuthController controller = new AuthController(new ProviderManager(provider), mock(JwtUtil.class),
+                mock(UserService.class), mock(PasswordRehashService.class));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isUnauthorized());
+    }
+}
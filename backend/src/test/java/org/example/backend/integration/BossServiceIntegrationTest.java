@@ -8,6 +8,7 @@ import org.example.backend.entity.UserBossProgress;
 import org.example.backend.repository.BossRepository;
 import org.example.backend.repository.UserBossProgressRepository;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.service.BossCatalog;
 import org.example.backend.service.BossService;
 import org.example.backend.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +39,9 @@ class BossServiceIntegrationTest
     @Autowired
     private BossRepository bossRepository;
 
+    @Autowired
+    private BossCatalog bossCatalog;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -64,6 +68,7 @@ class BossServiceIntegrationTest
         rewards.setBadge("Test Badge");
         testBoss.setRewards(rewards);
         testBoss = bossRepository.save(testBoss);
+        bossCatalog.reload();
 
         // Create and save test user
         testUser = userService.registerUser(
@@ -134,7 +139,7 @@ class BossServiceIntegrationTest
     void getBossSelection_Success()
     {
         // Act
-        List<Boss> result = bossService.getBossSelection();
+        List<Boss> result = bossService.getBossSelection(testUser.getLevel());
 
         // Assert
         assertNotNull(result);
@@ -119,6 +119,32 @@ class HabitServiceIntegrationTest
         assertNull(result.getLastCompletedDate());
     }
 
+    @Test
+    void resetCompletedBefore_ReopensHabitsOfPastPeriods()
+    {
+        // Arrange
+        String userId = "resetUser";
+        String today = LocalDate.now().toString();
+        Habit yesterdays = createTestHabit(userId, "daily");
+        yesterdays.setCompleted(true);
+        yesterdays.setStreak(4);
+        yesterdays.setLastCompletedDate(LocalDate.now().minusDays(1).toString());
+        habitRepository.save(yesterdays);
+        Habit todays = createTestHabit(userId, "DAILY");
+        todays.setCompleted(true);
+        todays.setLastCompletedDate(today);
+        habitRepository.save(todays);
+
+        // Act
+        habitRepository.resetCompletedBefore("DAILY", today);
+
+        // Assert: the frequency matches regardless of case, streaks are kept
+        Habit reopened = habitRepository.findById(yesterdays.getId()).orElseThrow();
+        assertFalse(reopened.isCompleted());
+        assertEquals(4, reopened.getStreak());
+        assertTrue(habitRepository.findById(todays.getId()).orElseThrow().isCompleted());
+    }
+
     private Habit createTestHabit(String userId, String frequency)
     {
         Habit habit = new Habit();
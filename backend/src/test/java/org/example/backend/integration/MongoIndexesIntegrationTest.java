@@ -0,0 +1,67 @@
+package org.example.backend.integration;
+
+import org.example.backend.config.MongoIndexes;
+import org.example.backend.entity.User;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MongoIndexesIntegrationTest
+{
+
+    @Autowired
+    private MongoIndexes mongoIndexes;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp()
+    {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void verify_AllIndexesCreatedAtStartup()
+    {
+        // Act & Assert
+        assertEquals(List.of(), mongoIndexes.verify());
+    }
+
+    @Test
+    void usernameIndex_RejectsDuplicates()
+    {
+        // Arrange
+        userRepository.save(new User("testuser", "first@example.com", "hash", 1, 0, 0, null));
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () ->
+                userRepository.save(new User("testuser", "second@example.com", "hash", 1, 0, 0, null))
+        );
+    }
+
+    @Test
+    void emailIndex_DuplicateNamesTheIndex()
+    {
+        // Arrange
+        userRepository.save(new User("first", "same@example.com", "hash", 1, 0, 0, null));
+
+        // Act
+        DuplicateKeyException exception = assertThrows(DuplicateKeyException.class, () ->
+                userRepository.save(new User("second", "same@example.com", "hash", 1, 0, 0, null))
+        );
+
+        // Assert: registration tells email from username conflicts by this name
+        assertTrue(exception.getMessage().contains(MongoIndexes.USER_EMAIL_INDEX));
+    }
+}
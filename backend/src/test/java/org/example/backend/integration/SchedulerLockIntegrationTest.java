@@ -0,0 +1,110 @@
+package org.example.backend.integration;
+
+import org.example.backend.util.SchedulerLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchedulerLockIntegrationTest
+{
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp()
+    {
+        mongoTemplate.dropCollection("schedulerLocks");
+    }
+
+    @Test
+    void runExclusively_OnlyOneInstanceRunsWhileLeaseIsHeld()
+    {
+        // Arrange: two instances stand in for two replicas
+        SchedulerLock first = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        SchedulerLock second = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        AtomicInteger runs = new AtomicInteger();
+        AtomicBoolean secondRanDuringFirst = new AtomicBoolean();
+
+        // Act: the second replica fires while the first is still running the job
+        boolean firstRan = first.runExclusively("testJob", () ->
+        {
+            runs.incrementAndGet();
+            secondRanDuringFirst.set(second.runExclusively("testJob", runs::incrementAndGet));
+        });
+
+        // Assert
+        assertTrue(firstRan);
+        assertFalse(secondRanDuringFirst.get());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runExclusively_ReleasesLeaseWhenJobFinishes()
+    {
+        // Arrange
+        SchedulerLock first = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        SchedulerLock second = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        first.runExclusively("testJob", () -> { });
+
+        // Act: well within the first lease
+        boolean secondRan = second.runExclusively("testJob", () -> { });
+
+        // Assert
+        assertTrue(secondRan);
+    }
+
+    @Test
+    void runExclusively_ReleasesLeaseWhenJobFails()
+    {
+        // Arrange
+        SchedulerLock first = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        SchedulerLock second = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        assertThrows(IllegalStateException.class, () -> first.runExclusively("testJob", () ->
+        {
+            throw new IllegalStateException("Job failed");
+        }));
+
+        // Act
+        boolean secondRan = second.runExclusively("testJob", () -> { });
+
+        // Assert
+        assertTrue(secondRan);
+    }
+
+    @Test
+    void runExclusively_ExpiredLeaseCanBeTakenOver()
+    {
+        // Arrange
+        SchedulerLock first = new SchedulerLock(mongoTemplate, Duration.ofMillis(50));
+        SchedulerLock second = new SchedulerLock(mongoTemplate, Duration.ofMinutes(5));
+        AtomicBoolean secondRan = new AtomicBoolean();
+
+        // Act: the first job outlives its lease
+        first.runExclusively("testJob", () ->
+        {
+            try
+            {
+                Thread.sleep(100);
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            secondRan.set(second.runExclusively("testJob", () -> { }));
+        });
+
+        // Assert
+        assertTrue(secondRan.get());
+    }
+}
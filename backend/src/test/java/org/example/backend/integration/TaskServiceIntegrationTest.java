@@ -183,6 +183,33 @@ class TaskServiceIntegrationTest
     }
 
 
+    @Test
+    void resetCompletedBefore_ReopensOnlyEarlierCompletions()
+    {
+        // Arrange
+        String userId = "testUser";
+        String today = LocalDate.now().toString();
+        Task yesterdays = createTestTask(userId, "Done yesterday");
+        yesterdays.setCompleted(true);
+        yesterdays.setLastCompletedDate(LocalDate.now().minusDays(1).toString());
+        taskRepository.save(yesterdays);
+        Task todays = createTestTask(userId, "Done today");
+        todays.setCompleted(true);
+        todays.setLastCompletedDate(today);
+        taskRepository.save(todays);
+
+        // Act
+        long reset = taskRepository.resetCompletedBefore(today);
+
+        // Assert
+        assertEquals(1, reset);
+        Task reopened = taskRepository.findById(yesterdays.getId()).orElseThrow();
+        assertFalse(reopened.isCompleted());
+        assertNull(reopened.getLastCompletedDate());
+        assertTrue(taskRepository.findById(todays.getId()).orElseThrow().isCompleted());
+    }
+
+
     private Task createTestTask(String userId, String title)
     {
         Task task = new Task();
@@ -0,0 +1,75 @@
+package org.example.backend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts the whole application with the virtual-threads profile and checks it serves requests
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual-threads"})
+@Import(VirtualThreadsProfileIntegrationTest.ThreadProbeController.class)
+class VirtualThreadsProfileIntegrationTest
+{
+    @RestController
+    static class ThreadProbeController
+    {
+        // Under /auth, so the request needs no token
+        @GetMapping("/auth/test/thread")
+        boolean isVirtual()
+        {
+            return Thread.currentThread().isVirtual();
+        }
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private ExecutorSubscribableChannel clientInboundChannel;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @Test
+    void request_ServedOnVirtualThread()
+    {
+        // Act
+        ResponseEntity<Boolean> response = restTemplate.getForEntity("/auth/test/thread", Boolean.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Boolean.TRUE, response.getBody());
+    }
+
+    @Test
+    void stompChannels_RunOnVirtualThreads() throws Exception
+    {
+        // Act & Assert
+        assertTrue(runsOnVirtualThread(clientInboundChannel));
+        assertTrue(runsOnVirtualThread(clientOutboundChannel));
+    }
+
+    private static boolean runsOnVirtualThread(ExecutorSubscribableChannel channel) throws Exception
+    {
+        assertNotNull(channel.getExecutor());
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        channel.getExecutor().execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        return virtual.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.backend.integration;
 
 import org.example.backend.dto.UserStatsUpdate;
+import org.example.backend.entity.User;
 import org.example.backend.service.WebSocketService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -39,14 +40,18 @@ class WebSocketServiceIntegrationTest
     {
         // Arrange
         String username = "testUser";
-        int gold = 100;
-        int level = 2;
+        User user = new User();
+        user.setId("user1");
+        user.setUsername(username);
+        user.setGold(100);
+        user.setLevel(2);
 
         // Act
-        webSocketService.sendUserStatsUpdate(username, gold, level);
+        webSocketService.sendUserStatsUpdate(user);
 
         // Assert
-        Mockito.verify(messagingTemplate).convertAndSend(
+        // Published once the coalescing window closes
+        Mockito.verify(messagingTemplate, Mockito.timeout(1000)).convertAndSend(
                 ArgumentMatchers.eq("/topic/user-stats/" + username),
                 ArgumentMatchers.any(UserStatsUpdate.class)
         );
@@ -0,0 +1,165 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.entity.UserBossProgress;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttackCoalescerTest
+{
+
+    @Test
+    void submit_MergesBurstIntoSingleWrite() throws InterruptedException
+    {
+        // Arrange
+        AttackCoalescer coalescer = new AttackCoalescer(true, 500, 5000, new SimpleMeterRegistry());
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger appliedDamage = new AtomicInteger();
+        List<UserBossProgress> results = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> attackers = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            Thread attacker = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                } catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                results.add(coalescer.submit("user1", "boss1", 10, total ->
+                {
+                    writes.incrementAndGet();
+                    appliedDamage.addAndGet(total);
+                    return new UserBossProgress("user1", "boss1", 100 - total);
+                }));
+            });
+            attackers.add(attacker);
+            attacker.start();
+        }
+
+        // Act
+        start.countDown();
+        for (Thread attacker : attackers)
+        {
+            attacker.join();
+        }
+
+        // Assert
+        assertEquals(1, writes.get());
+        assertEquals(50, appliedDamage.get());
+        assertEquals(5, results.size());
+        assertTrue(results.stream().allMatch(progress -> progress == results.get(0)));
+        assertEquals(50, results.get(0).getCurrentHealth());
+    }
+
+    @Test
+    void submit_PropagatesApplierFailureToAllWaiters() throws InterruptedException
+    {
+        // Arrange
+        AttackCoalescer coalescer = new AttackCoalescer(true, 500, 5000, new SimpleMeterRegistry());
+        List<Throwable> failures = runBurst(coalescer, 5, total ->
+        {
+            throw new IllegalArgumentException("Boss not found");
+        });
+
+        // Assert
+        assertEquals(5, failures.size());
+        assertTrue(failures.stream().allMatch(IllegalArgumentException.class::isInstance));
+    }
+
+    @Test
+    void submit_ErrorInApplierStillReleasesAllWaiters() throws InterruptedException
+    {
+        // Arrange
+        AttackCoalescer coalescer = new AttackCoalescer(true, 500, 5000, new SimpleMeterRegistry());
+        List<Throwable> failures = runBurst(coalescer, 5, total ->
+        {
+            throw new StackOverflowError();
+        });
+
+        // Assert
+        assertEquals(5, failures.size());
+        assertTrue(failures.stream().allMatch(StackOverflowError.class::isInstance));
+    }
+
+    @Test
+    void submit_StuckWriteTimesOutWaiters() throws InterruptedException
+    {
+        // Arrange
+        AttackCoalescer coalescer = new AttackCoalescer(true, 200, 100, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        Thread leader = new Thread(() -> coalescer.submit("user1", "boss1", 10, total ->
+        {
+            awaitQuietly(release);
+            return total;
+        }));
+        leader.start();
+        Thread.sleep(50);
+
+        try
+        {
+            // Act & Assert: joins the burst within its window, and its write does not finish
+            assertThrows(IllegalStateException.class, () -> coalescer.submit("user1", "boss1", 10, total -> total));
+        } finally
+        {
+            release.countDown();
+            leader.join();
+        }
+    }
+
+    // Starts the attacks together so they join one burst, and collects what each of them threw
+    private List<Throwable> runBurst(AttackCoalescer coalescer, int attacks, IntFunction<Object> applier)
+            throws InterruptedException
+    {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> attackers = new ArrayList<>();
+        for (int i = 0; i < attacks; i++)
+        {
+            Thread attacker = new Thread(() ->
+            {
+                awaitQuietly(start);
+                try
+                {
+                    coalescer.submit("user1", "boss1", 10, applier);
+                } catch (Throwable e)
+                {
+                    failures.add(e);
+                }
+            });
+            attackers.add(attacker);
+            attacker.start();
+        }
+
+        // Act
+        start.countDown();
+        for (Thread attacker : attackers)
+        {
+            attacker.join(10_000);
+        }
+        return failures;
+    }
+
+    private void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
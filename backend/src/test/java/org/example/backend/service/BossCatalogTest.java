@@ -0,0 +1,107 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.Boss;
+import org.example.backend.repository.BossRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BossCatalogTest
+{
+
+    @Mock
+    private BossRepository bossRepository;
+
+    @InjectMocks
+    private BossCatalog bossCatalog;
+
+    private Boss goblin;
+    private Boss troll;
+    private Boss dragon;
+
+    @BeforeEach
+    void setUp()
+    {
+        goblin = boss("goblin", 1);
+        troll = boss("troll", 5);
+        dragon = boss("dragon", 10);
+    }
+
+    @Test
+    void findById_ServedFromMemoryAfterReload()
+    {
+        // Arrange
+        when(bossRepository.findAll()).thenReturn(List.of(goblin, troll));
+        bossCatalog.reload();
+
+        // Act
+        Optional<Boss> result = bossCatalog.findById("troll");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertSame(troll, result.get());
+        verify(bossRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void findById_MissFallsBackToRepositoryAndReloads()
+    {
+        // Arrange
+        when(bossRepository.findAll()).thenReturn(List.of(goblin)).thenReturn(List.of(goblin, dragon));
+        bossCatalog.reload();
+        when(bossRepository.findById("dragon")).thenReturn(Optional.of(dragon));
+
+        // Act
+        Optional<Boss> result = bossCatalog.findById("dragon");
+
+        // Assert
+        assertTrue(result.isPresent());
+        verify(bossRepository, times(2)).findAll();
+        assertTrue(bossCatalog.findById("dragon").isPresent());
+        verify(bossRepository, times(1)).findById("dragon");
+    }
+
+    @Test
+    void findById_UnknownBoss()
+    {
+        // Arrange
+        when(bossRepository.findById("nonexistent")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(bossCatalog.findById("nonexistent").isEmpty());
+        verify(bossRepository, never()).findAll();
+    }
+
+    @Test
+    void findEligible_ReturnsBossesUpToLevel()
+    {
+        // Arrange
+        when(bossRepository.findAll()).thenReturn(List.of(dragon, goblin, troll));
+        bossCatalog.reload();
+
+        // Act & Assert
+        assertEquals(List.of(), bossCatalog.findEligible(0));
+        assertEquals(List.of(goblin), bossCatalog.findEligible(4));
+        assertEquals(List.of(goblin, troll), bossCatalog.findEligible(5));
+        assertEquals(List.of(goblin, troll, dragon), bossCatalog.findEligible(50));
+    }
+
+    private Boss boss(String id, int levelRequirement)
+    {
+        Boss boss = new Boss();
+        boss.setId(id);
+        boss.setName(id);
+        boss.setLevelRequirement(levelRequirement);
+        return boss;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.Boss;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BossSelectionEngineTest
+{
+
+    @Mock
+    private BossCatalog bossCatalog;
+
+    private List<Boss> eligible;
+
+    @BeforeEach
+    void setUp()
+    {
+        eligible = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            eligible.add(boss("common" + i, false, false));
+        }
+    }
+
+    @Test
+    void select_ReturnsDistinctBossesUpToSize()
+    {
+        // Arrange
+        when(bossCatalog.findEligible(5)).thenReturn(eligible);
+        BossSelectionEngine engine = new BossSelectionEngine(bossCatalog, 0.25, 42L);
+
+        // Act
+        List<Boss> result = engine.select(5, 4);
+
+        // Assert
+        assertEquals(4, result.size());
+        assertEquals(4, new HashSet<>(result).size());
+        assertTrue(eligible.containsAll(result));
+    }
+
+    @Test
+    void select_SameSeedGivesSameSelection()
+    {
+        // Arrange
+        when(bossCatalog.findEligible(5)).thenReturn(eligible);
+
+        // Act
+        List<Boss> first = new BossSelectionEngine(bossCatalog, 0.25, 7L).select(5, 4);
+        List<Boss> second = new BossSelectionEngine(bossCatalog, 0.25, 7L).select(5, 4);
+
+        // Assert
+        assertEquals(first, second);
+    }
+
+    @Test
+    void select_SkipsDefeatedBosses()
+    {
+        // Arrange
+        Boss defeated = boss("defeated", false, true);
+        when(bossCatalog.findEligible(1)).thenReturn(List.of(defeated, eligible.get(0)));
+        BossSelectionEngine engine = new BossSelectionEngine(bossCatalog, 1.0, null);
+
+        // Act
+        List<Boss> result = engine.select(1, 4);
+
+        // Assert
+        assertEquals(List.of(eligible.get(0)), result);
+    }
+
+    @Test
+    void select_RareBossesAreDrawnLessOften()
+    {
+        // Arrange
+        Boss rare = boss("rare", true, false);
+        List<Boss> withRare = new ArrayList<>(eligible.subList(0, 3));
+        withRare.add(rare);
+        when(bossCatalog.findEligible(5)).thenReturn(withRare);
+        BossSelectionEngine engine = new BossSelectionEngine(bossCatalog, 0.1, 1234L);
+
+        // Act
+        int rareDraws = 0;
+        int commonDraws = 0;
+        for (int i = 0; i < 2000; i++)
+        {
+            Boss first = engine.select(5, 1).get(0);
+            if (first == rare)
+            {
+                rareDraws++;
+            } else if (first == withRare.get(0))
+            {
+                commonDraws++;
+            }
+        }
+
+        // Assert: a rare boss weighs 0.1 against 1.0 for each common one
+        assertTrue(rareDraws < commonDraws / 4, "rare=" + rareDraws + ", common=" + commonDraws);
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveRareWeight()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new BossSelectionEngine(bossCatalog, 0, null));
+    }
+
+    private Boss boss(String id, boolean rare, boolean defeated)
+    {
+        Boss boss = new Boss();
+        boss.setId(id);
+        boss.setName(id);
+        boss.setRare(rare);
+        boss.setDefeated(defeated);
+        return boss;
+    }
+}
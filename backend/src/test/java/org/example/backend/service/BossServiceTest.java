@@ -1,17 +1,20 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.BatchAttackResponse;
 import org.example.backend.dto.BossResponse;
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.Boss;
 import org.example.backend.entity.User;
 import org.example.backend.entity.UserBossProgress;
-import org.example.backend.repository.BossRepository;
 import org.example.backend.repository.UserBossProgressRepository;
-import org.example.backend.repository.UserRepository;
+import org.example.backend.util.OptimisticRetry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -30,20 +33,23 @@ class BossServiceTest
 {
 
     @Mock
-    private WebSocketService webSocketService;
+    private BossCatalog bossCatalog;
 
     @Mock
-    private BossRepository bossRepository;
+    private BossSelectionEngine bossSelectionEngine;
 
     @Mock
     private UserService userService;
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private UserBossProgressRepository userBossProgressRepository;
 
+    @Spy
+    private OptimisticRetry optimisticRetry = new OptimisticRetry(3, 0, 0, new SimpleMeterRegistry());
+
+    @Spy
+    private AttackCoalescer attackCoalescer = new AttackCoalescer(false, 0, 5000, new SimpleMeterRegistry());
+
     @InjectMocks
     private BossService bossService;
 
@@ -87,8 +93,8 @@ class BossServiceTest
     void getActiveBoss_Success()
     {
         // Arrange
-        when(userService.getUserBasicDetails("user1")).thenReturn(testUser);
-        when(bossRepository.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
         when(userBossProgressRepository.findByUserIdAndBossId("user1", "boss1"))
                 .thenReturn(Optional.of(testProgress));
 
@@ -107,7 +113,7 @@ class BossServiceTest
     {
         // Arrange
         testUser.setCurrentBossId(null);
-        when(userService.getUserBasicDetails("user1")).thenReturn(testUser);
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () ->
@@ -119,11 +125,9 @@ class BossServiceTest
     void dealDamage_Success()
     {
         // Arrange
-        when(userService.getUserBasicDetails("user1")).thenReturn(testUser);
-        when(bossRepository.findById("boss1")).thenReturn(Optional.of(testBoss));
-        when(userBossProgressRepository.findByUserIdAndBossId("user1", "boss1"))
-                .thenReturn(Optional.of(testProgress));
-        when(userBossProgressRepository.save(any(UserBossProgress.class))).thenReturn(testProgress);
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 30)).thenReturn(testProgress);
 
         // Act
         BossResponse result = bossService.dealDamage("user1", 30);
@@ -138,13 +142,11 @@ class BossServiceTest
     void dealDamage_BossDefeated()
     {
         // Arrange
-        when(userService.getUserBasicDetails("user1")).thenReturn(testUser);
-        when(bossRepository.findById("boss1")).thenReturn(Optional.of(testBoss));
-        when(userBossProgressRepository.findByUserIdAndBossId("user1", "boss1"))
-                .thenReturn(Optional.of(testProgress));
-        when(userBossProgressRepository.save(any(UserBossProgress.class))).thenReturn(testProgress);
-        when(userService.updateUserDetails(anyString(), anyInt(), any(), any())).thenReturn(testUser);
-        when(userService.saveUser(any(User.class))).thenReturn(testUser);
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 150)).thenReturn(testProgress);
+        when(userService.grantBossReward("user1", 50, 100, "Boss Slayer"))
+                .thenReturn(new UserService.RewardGrant(testUser, false));
 
         // Act
         BossResponse result = bossService.dealDamage("user1", 150); // Damage exceeds boss health
@@ -152,8 +154,95 @@ class BossServiceTest
         // Assert
         assertTrue(result.isDefeated());
         assertEquals(0, result.getCurrentHealth());
-        verify(userService).updateUserDetails(eq(testUser.getUsername()), eq(50), any(), any());
-        verify(webSocketService).sendUserStatsUpdate(eq(testUser.getUsername()), anyInt(), anyInt());
+        verify(userService, times(1)).grantBossReward("user1", 50, 100, "Boss Slayer");
+        verify(userService, times(1)).sendUserStatsUpdate(testUser);
+        verify(userService, never()).updateUserDetails(anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void dealDamage_LevelUpDoesNotMutateCatalogBoss()
+    {
+        // Arrange
+        User leveledUp = new User();
+        leveledUp.setUsername("testuser");
+        leveledUp.setLevel(2);
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 150)).thenReturn(testProgress);
+        when(userService.grantBossReward("user1", 50, 100, "Boss Slayer"))
+                .thenReturn(new UserService.RewardGrant(leveledUp, true));
+
+        // Act
+        BossResponse result = bossService.dealDamage("user1", 150);
+
+        // Assert
+        assertTrue(result.getRewards().getHasCausedLevelUp());
+        assertFalse(testBoss.getRewards().getHasCausedLevelUp());
+    }
+
+    @Test
+    void dealDamage_AlreadyDefeated_NoRewards()
+    {
+        // Arrange
+        testProgress.setCurrentHealth(0);
+        testProgress.setDefeated(true);
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 30)).thenReturn(null);
+        when(userBossProgressRepository.findOrCreate("user1", "boss1", 100)).thenReturn(testProgress);
+
+        // Act
+        BossResponse result = bossService.dealDamage("user1", 30);
+
+        // Assert
+        assertTrue(result.isDefeated());
+        assertEquals(0, result.getCurrentHealth());
+        verify(userService, never()).grantBossReward(anyString(), anyInt(), anyInt(), any());
+        verify(userService, never()).sendUserStatsUpdate(any());
+    }
+
+    @Test
+    void dealDamageBatch_AppliesCombinedDamageOnce()
+    {
+        // Arrange
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 120)).thenReturn(testProgress);
+        when(userService.grantBossReward("user1", 50, 100, "Boss Slayer"))
+                .thenReturn(new UserService.RewardGrant(testUser, false));
+
+        // Act
+        BatchAttackResponse result = bossService.dealDamageBatch("user1", List.of(40, 50, 30));
+
+        // Assert
+        assertTrue(result.getBoss().isDefeated());
+        assertEquals(3, result.getHits().size());
+        assertEquals(60, result.getHits().get(0).getRemainingHealth());
+        assertFalse(result.getHits().get(0).isDefeatingHit());
+        assertEquals(10, result.getHits().get(1).getRemainingHealth());
+        assertTrue(result.getHits().get(2).isDefeatingHit());
+        assertTrue(result.getHits().get(2).isLanded());
+        verify(userBossProgressRepository, times(1)).applyDamage(anyString(), anyString(), anyInt());
+        verify(userService, times(1)).grantBossReward("user1", 50, 100, "Boss Slayer");
+    }
+
+    @Test
+    void dealDamageBatch_HitsAfterDefeatDoNotLand()
+    {
+        // Arrange
+        when(userService.getUserBasicDetails("user1")).thenReturn(UserSummary.of(testUser));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 130)).thenReturn(testProgress);
+        when(userService.grantBossReward("user1", 50, 100, "Boss Slayer"))
+                .thenReturn(new UserService.RewardGrant(testUser, false));
+
+        // Act
+        BatchAttackResponse result = bossService.dealDamageBatch("user1", List.of(100, 30));
+
+        // Assert
+        assertTrue(result.getHits().get(0).isDefeatingHit());
+        assertFalse(result.getHits().get(1).isLanded());
+        assertFalse(result.getHits().get(1).isDefeatingHit());
     }
 
     @Test
@@ -161,10 +250,10 @@ class BossServiceTest
     {
         // Arrange
         List<Boss> bossList = Arrays.asList(testBoss);
-        when(bossRepository.findRandomBosses(4)).thenReturn(bossList);
+        when(bossSelectionEngine.select(1, 4)).thenReturn(bossList);
 
         // Act
-        List<Boss> result = bossService.getBossSelection();
+        List<Boss> result = bossService.getBossSelection(1);
 
         // Assert
         assertNotNull(result);
@@ -176,7 +265,7 @@ class BossServiceTest
     void initiateBossFight_Success()
     {
         // Arrange
-        when(bossRepository.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
 
         // Act
         boolean result = bossService.initiateBossFight("boss1");
@@ -189,7 +278,7 @@ class BossServiceTest
     void initiateBossFight_BossNotFound()
     {
         // Arrange
-        when(bossRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(bossCatalog.findById("nonexistent")).thenReturn(Optional.empty());
 
         // Act
         boolean result = bossService.initiateBossFight("nonexistent");
@@ -202,7 +291,7 @@ class BossServiceTest
     void getBossById_Success()
     {
         // Arrange
-        when(bossRepository.findById("boss1")).thenReturn(Optional.of(testBoss));
+        when(bossCatalog.findById("boss1")).thenReturn(Optional.of(testBoss));
 
         // Act
         Boss result = bossService.getBossById("boss1");
@@ -216,7 +305,7 @@ class BossServiceTest
     void getBossById_NotFound()
     {
         // Arrange
-        when(bossRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(bossCatalog.findById("nonexistent")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () ->
@@ -0,0 +1,62 @@
+package org.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionPeriodEvaluatorTest
+{
+
+    @Test
+    void isCompletedInCurrentPeriod_DailyOnlyOnSameDay()
+    {
+        // Arrange
+        CompletionPeriodEvaluator evaluator = evaluatorOn(LocalDate.of(2025, 3, 12));
+
+        // Act & Assert
+        assertTrue(evaluator.isCompletedInCurrentPeriod("DAILY", "2025-03-12"));
+        assertFalse(evaluator.isCompletedInCurrentPeriod("daily", "2025-03-11"));
+        assertFalse(evaluator.isCompletedInCurrentPeriod("DAILY", null));
+    }
+
+    @Test
+    void isCompletedInCurrentPeriod_WeeklyAcrossNewYear()
+    {
+        // Arrange: Sunday 2025-01-05 ends ISO week 1 of 2025, which started on Monday 2024-12-30
+        CompletionPeriodEvaluator evaluator = evaluatorOn(LocalDate.of(2025, 1, 5));
+
+        // Act & Assert
+        assertTrue(evaluator.isCompletedInCurrentPeriod("WEEKLY", "2024-12-30"));
+        assertFalse(evaluator.isCompletedInCurrentPeriod("WEEKLY", "2024-12-29"));
+    }
+
+    @Test
+    void isCompletedInCurrentPeriod_WeeklySameWeekNumberOtherYear()
+    {
+        // Arrange: both days are in ISO week 1, of 2024 and 2025
+        CompletionPeriodEvaluator evaluator = evaluatorOn(LocalDate.of(2025, 1, 1));
+
+        // Act & Assert
+        assertFalse(evaluator.isCompletedInCurrentPeriod("WEEKLY", "2024-01-01"));
+    }
+
+    @Test
+    void periodStart_WeeklyIsMondayOfIsoWeek()
+    {
+        // Arrange
+        CompletionPeriodEvaluator evaluator = new CompletionPeriodEvaluator();
+
+        // Act & Assert
+        assertEquals(LocalDate.of(2024, 12, 30), evaluator.periodStart("WEEKLY", LocalDate.of(2025, 1, 1)));
+        assertEquals(LocalDate.of(2025, 1, 1), evaluator.periodStart("DAILY", LocalDate.of(2025, 1, 1)));
+    }
+
+    private CompletionPeriodEvaluator evaluatorOn(LocalDate day)
+    {
+        return new CompletionPeriodEvaluator(Clock.fixed(day.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.repository.HabitRepository;
+import org.example.backend.util.SchedulerLock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HabitResetSchedulerTest
+{
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void resetCompletedHabits_UsesDayAndIsoWeekStart()
+    {
+        // Arrange: 2025-01-01 is a Wednesday in ISO week 1, which starts on Monday 2024-12-30
+        HabitResetScheduler scheduler = new HabitResetScheduler(habitRepository, schedulerLock,
+                new CompletionPeriodEvaluator(), meterRegistry);
+        when(habitRepository.resetCompletedBefore("DAILY", "2025-01-01")).thenReturn(3L);
+        when(habitRepository.resetCompletedBefore("WEEKLY", "2024-12-30")).thenReturn(1L);
+
+        // Act
+        scheduler.resetCompletedHabits(LocalDate.of(2025, 1, 1));
+
+        // Assert
+        assertEquals(3.0, meterRegistry.get("questify.habits.reset").tag("frequency", "DAILY").counter().count());
+        assertEquals(1.0, meterRegistry.get("questify.habits.reset").tag("frequency", "WEEKLY").counter().count());
+    }
+
+    @Test
+    void resetCompletedHabits_SkipsWhenLockIsHeldElsewhere()
+    {
+        // Arrange
+        HabitResetScheduler scheduler = new HabitResetScheduler(habitRepository, schedulerLock,
+                new CompletionPeriodEvaluator(), meterRegistry);
+        when(schedulerLock.runExclusively(eq("habitReset"), any())).thenReturn(false);
+
+        // Act
+        scheduler.resetCompletedHabits();
+
+        // Assert
+        verify(habitRepository, never()).resetCompletedBefore(anyString(), anyString());
+    }
+}
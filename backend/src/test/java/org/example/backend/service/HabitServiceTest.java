@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -26,6 +27,9 @@ class HabitServiceTest
     @Mock
     private HabitRepository habitRepository;
 
+    @Spy
+    private CompletionPeriodEvaluator completionPeriodEvaluator = new CompletionPeriodEvaluator();
+
     @InjectMocks
     private HabitService habitService;
 
@@ -186,7 +190,7 @@ class HabitServiceTest
     }
 
     @Test
-    void getHabits_ResetsDailyHabits()
+    void getHabits_DoesNotWrite()
     {
         // Arrange
         Habit dailyHabit = new Habit();
@@ -196,37 +200,23 @@ class HabitServiceTest
         dailyHabit.setCompleted(true);
         dailyHabit.setLastCompletedDate(LocalDate.now().minusDays(1).toString());
 
-        when(habitRepository.findByUserId(userId)).thenReturn(Arrays.asList(dailyHabit));
-        when(habitRepository.save(any(Habit.class))).thenReturn(dailyHabit);
-
-        // Act
-        List<Habit> results = habitService.getHabits(userId);
-
-        // Assert
-        assertFalse(results.get(0).isCompleted());
-        verify(habitRepository).save(any(Habit.class));
-    }
-
-    @Test
-    void getHabits_ResetsWeeklyHabits()
-    {
-        // Arrange
         Habit weeklyHabit = new Habit();
-        weeklyHabit.setId("habit1");
+        weeklyHabit.setId("habit2");
         weeklyHabit.setUserId(userId);
         weeklyHabit.setFrequency("WEEKLY");
         weeklyHabit.setCompleted(true);
         weeklyHabit.setLastCompletedDate(LocalDate.now().minusWeeks(1).toString());
 
-        when(habitRepository.findByUserId(userId)).thenReturn(Arrays.asList(weeklyHabit));
-        when(habitRepository.save(any(Habit.class))).thenReturn(weeklyHabit);
+        when(habitRepository.findByUserId(userId)).thenReturn(Arrays.asList(dailyHabit, weeklyHabit));
 
         // Act
         List<Habit> results = habitService.getHabits(userId);
 
-        // Assert
+        // Assert: both completions are from a past period, derived without writing
+        assertEquals(2, results.size());
         assertFalse(results.get(0).isCompleted());
-        verify(habitRepository).save(any(Habit.class));
+        assertFalse(results.get(1).isCompleted());
+        verify(habitRepository, never()).save(any(Habit.class));
     }
 
     @Test
@@ -0,0 +1,137 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.AdaptiveBcryptPasswordEncoder;
+import org.example.backend.config.BoundedPasswordEncoder;
+import org.example.backend.config.StoredUserDetails;
+import org.example.backend.entity.User;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordRehashServiceTest
+{
+
+    @Mock
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private User testUser;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+
+        testUser = new User();
+        testUser.setId("testId");
+        testUser.setUsername("testuser");
+    }
+
+    @Test
+    void rehashIfNeeded_RehashesOutdatedCost()
+    {
+        // Arrange
+        String oldHash = new BCryptPasswordEncoder(4).encode("password");
+        testUser.setPassword(oldHash);
+        PasswordRehashService passwordRehashService = serviceWith(new AdaptiveBcryptPasswordEncoder(5), 16);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.replacePasswordHash(eq("testId"), eq(oldHash), anyString())).thenReturn(true);
+
+        // Act
+        passwordRehashService.rehashIfNeeded(loggedIn(true), "password");
+        passwordRehashService.shutdown();
+
+        // Assert
+        verify(userRepository).replacePasswordHash(eq("testId"), eq(oldHash), startsWith("$2a$05$"));
+        assertEquals(1, meterRegistry.get("questify.bcrypt.rehash").tag("outcome", "rehashed").counter().count());
+    }
+
+    @Test
+    void rehashIfNeeded_SkipsHashAtTargetCost()
+    {
+        // Arrange
+        PasswordRehashService passwordRehashService = serviceWith(new AdaptiveBcryptPasswordEncoder(4), 16);
+
+        // Act
+        passwordRehashService.rehashIfNeeded(loggedIn(false), "password");
+        passwordRehashService.shutdown();
+
+        // Assert: nothing is scheduled or read for an up-to-date hash
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rehashIfNeeded_NeverRehashesChangedPassword()
+    {
+        // Arrange: the password was changed between the login and the background rehash
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("new-password"));
+        PasswordRehashService passwordRehashService = serviceWith(new AdaptiveBcryptPasswordEncoder(5), 16);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act
+        passwordRehashService.rehashIfNeeded(loggedIn(true), "password");
+        passwordRehashService.shutdown();
+
+        // Assert
+        verify(userRepository, never()).replacePasswordHash(anyString(), anyString(), anyString());
+        assertEquals(1, meterRegistry.get("questify.bcrypt.rehash").tag("outcome", "mismatch").counter().count());
+    }
+
+    @Test
+    void rehashIfNeeded_DroppedWhenQueueFull() throws InterruptedException
+    {
+        // Arrange: the only rehash thread is busy and the queue holds one task
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(userRepository.findByUsername("testuser")).thenAnswer(invocation ->
+        {
+            started.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        PasswordRehashService passwordRehashService = serviceWith(new AdaptiveBcryptPasswordEncoder(5), 1);
+        passwordRehashService.rehashIfNeeded(loggedIn(true), "password");
+        started.await();
+        passwordRehashService.rehashIfNeeded(loggedIn(true), "password");
+
+        // Act
+        passwordRehashService.rehashIfNeeded(loggedIn(true), "password");
+        release.countDown();
+        passwordRehashService.shutdown();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("questify.bcrypt.rehash").tag("outcome", "dropped").counter().count());
+    }
+
+    private PasswordRehashService serviceWith(PasswordEncoder bcrypt, int queueCapacity)
+    {
+        when(boundedPasswordEncoder.getDelegate()).thenReturn(bcrypt);
+        return new PasswordRehashService(boundedPasswordEncoder, userRepository, queueCapacity, meterRegistry);
+    }
+
+    private StoredUserDetails loggedIn(boolean passwordUpgradeNeeded)
+    {
+        return new StoredUserDetails("testuser", "", List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                passwordUpgradeNeeded);
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.BossResponse;
+import org.example.backend.dto.UserSummary;
+import org.example.backend.entity.Boss;
+import org.example.backend.entity.User;
+import org.example.backend.entity.UserBossProgress;
+import org.example.backend.repository.ReactiveUserBossProgressRepository;
+import org.example.backend.repository.ReactiveUserRepository;
+import org.example.backend.util.LinearLevelCurve;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBossServiceTest
+{
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private ReactiveUserBossProgressRepository userBossProgressRepository;
+
+    @Mock
+    private BossCatalog bossCatalog;
+
+    @Mock
+    private BossSelectionEngine bossSelectionEngine;
+
+    @Mock
+    private WebSocketService webSocketService;
+
+    private ReactiveBossService reactiveBossService;
+
+    private Boss testBoss;
+    private User testUser;
+    private UserBossProgress testProgress;
+
+    @BeforeEach
+    void setUp()
+    {
+        reactiveBossService = new ReactiveBossService(userRepository, userBossProgressRepository,
+                bossCatalog, bossSelectionEngine, new LinearLevelCurve(100),
+                new UserSummaryCache(60, 100, new SimpleMeterRegistry()), webSocketService, 3, 0, 0);
+
+        testBoss = new Boss();
+        testBoss.setId("boss1");
+        testBoss.setName("Test Boss");
+        testBoss.setMaxHealth(100);
+
+        Boss.Rewards rewards = new Boss.Rewards();
+        rewards.setXp(50);
+        rewards.setGold(100);
+        rewards.setBadge("Boss Slayer");
+        testBoss.setRewards(rewards);
+
+        testUser = new User();
+        testUser.setId("user1");
+        testUser.setUsername("testuser");
+        testUser.setCurrentBossId("boss1");
+        testUser.setLevel(1);
+        testUser.setExperience(0);
+        testUser.setGold(0);
+        testUser.setVersion(3L);
+
+        testProgress = new UserBossProgress("user1", "boss1", 100);
+        testProgress.setId("progress1");
+        testProgress.setVersion(0L);
+    }
+
+    @Test
+    void getActiveBoss_CreatesProgressWhenMissing()
+    {
+        // Arrange
+        when(bossCatalog.findCached("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.findByUserIdAndBossId("user1", "boss1")).thenReturn(Mono.empty());
+        when(userBossProgressRepository.findOrCreate("user1", "boss1", 100)).thenReturn(Mono.just(testProgress));
+
+        // Act
+        BossResponse result = reactiveBossService.getActiveBoss(UserSummary.of(testUser)).block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(100, result.getCurrentHealth());
+        verify(bossCatalog, never()).findById(anyString());
+    }
+
+    @Test
+    void dealDamage_NoCurrentBoss_Fails()
+    {
+        // Arrange
+        testUser.setCurrentBossId(null);
+
+        // Act & Assert
+        Mono<BossResponse> result = reactiveBossService.dealDamage(UserSummary.of(testUser), 10);
+        assertThrows(IllegalArgumentException.class, result::block);
+        verifyNoInteractions(userBossProgressRepository);
+    }
+
+    @Test
+    void dealDamage_ReducesHealth()
+    {
+        // Arrange
+        when(bossCatalog.findCached("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 30)).thenReturn(Mono.just(testProgress));
+
+        // Act
+        BossResponse result = reactiveBossService.dealDamage(UserSummary.of(testUser), 30).block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(70, result.getCurrentHealth());
+        assertFalse(result.isDefeated());
+        verifyNoInteractions(userRepository, webSocketService);
+    }
+
+    @Test
+    void dealDamage_AlreadyDefeated_NoReward()
+    {
+        // Arrange
+        testProgress.setCurrentHealth(0);
+        testProgress.setDefeated(true);
+        when(bossCatalog.findCached("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 30)).thenReturn(Mono.empty());
+        when(userBossProgressRepository.findOrCreate("user1", "boss1", 100)).thenReturn(Mono.just(testProgress));
+
+        // Act
+        BossResponse result = reactiveBossService.dealDamage(UserSummary.of(testUser), 30).block();
+
+        // Assert
+        assertNotNull(result);
+        assertTrue(result.isDefeated());
+        verify(userBossProgressRepository, times(1)).applyDamage(anyString(), anyString(), anyInt());
+        verifyNoInteractions(userRepository, webSocketService);
+    }
+
+    @Test
+    void dealDamage_DefeatingHit_RetriesRewardOnConflict()
+    {
+        // Arrange
+        when(bossCatalog.findCached("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 100)).thenReturn(Mono.just(testProgress));
+        when(userRepository.findById("user1")).thenReturn(Mono.just(testUser));
+
+        User rewarded = new User();
+        rewarded.setId("user1");
+        rewarded.setUsername("testuser");
+        rewarded.setLevel(1);
+        rewarded.setExperience(50);
+        rewarded.setGold(100);
+        when(userRepository.applyReward(anyString(), anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(rewarded));
+
+        // Act
+        BossResponse result = reactiveBossService.dealDamage(UserSummary.of(testUser), 100).block();
+
+        // Assert
+        assertNotNull(result);
+        assertTrue(result.isDefeated());
+        verify(userRepository, times(2)).findById("user1");
+        verify(userRepository, times(2)).applyReward("user1", 3L, 1, 50, 100, "Boss Slayer");
+        verify(webSocketService, times(1)).sendUserStatsUpdate(rewarded);
+    }
+
+    @Test
+    void dealDamage_RewardConflictsExhausted_Fails()
+    {
+        // Arrange
+        when(bossCatalog.findCached("boss1")).thenReturn(Optional.of(testBoss));
+        when(userBossProgressRepository.applyDamage("user1", "boss1", 100)).thenReturn(Mono.just(testProgress));
+        when(userRepository.findById("user1")).thenReturn(Mono.just(testUser));
+        when(userRepository.applyReward(anyString(), anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.empty());
+
+        // Act & Assert
+        Mono<BossResponse> result = reactiveBossService.dealDamage(UserSummary.of(testUser), 100);
+        assertThrows(OptimisticLockingFailureException.class, result::block);
+        verify(userRepository, times(3)).applyReward(anyString(), anyLong(), anyInt(), anyInt(), anyInt(), any());
+        verifyNoInteractions(webSocketService);
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -27,6 +28,9 @@ class TaskServiceTest
     @Mock
     private TaskRepository taskRepository;
 
+    @Spy
+    private CompletionPeriodEvaluator completionPeriodEvaluator = new CompletionPeriodEvaluator();
+
     @InjectMocks
     private TaskService taskService;
 
@@ -84,7 +88,7 @@ class TaskServiceTest
     }
 
     @Test
-    void getAllTasksForUser_ResetsCompletedTasks()
+    void getAllTasksForUser_DoesNotWrite()
     {
         // Arrange
         Task completedTask = new Task();
@@ -95,15 +99,16 @@ class TaskServiceTest
 
         List<Task> tasks = Arrays.asList(completedTask);
         when(taskRepository.findByUserId(userId)).thenReturn(tasks);
-        when(taskRepository.saveAll(any())).thenReturn(tasks);
 
         // Act
         List<TaskResponse> results = taskService.getAllTasksForUser(userId);
 
-        // Assert
+        // Assert: yesterday's completion is reported as open without writing
         assertNotNull(results);
         assertEquals(1, results.size());
-        verify(taskRepository).saveAll(any());
+        assertFalse(results.get(0).isCompleted());
+        verify(taskRepository, never()).saveAll(any());
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
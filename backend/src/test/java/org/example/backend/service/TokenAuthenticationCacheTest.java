@@ -0,0 +1,75 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenAuthenticationCacheTest
+{
+
+    private final TokenAuthenticationCache cache = new TokenAuthenticationCache(60, 100, new SimpleMeterRegistry());
+
+    @Test
+    void credentialsSaved_UncachedUsersAreNotTracked()
+    {
+        // Act
+        for (int i = 0; i < 1_000; i++)
+        {
+            cache.credentialsSaved("user" + i, "hash", List.of("ROLE_USER"));
+        }
+
+        // Assert
+        assertEquals(0, cache.trackedUsers());
+    }
+
+    @Test
+    void invalidateUser_StopsTrackingUser()
+    {
+        // Arrange
+        cacheToken("token-1", "alice");
+        cacheToken("token-2", "bob");
+
+        // Act
+        cache.invalidateUser("alice");
+
+        // Assert
+        assertEquals(1, cache.trackedUsers());
+        assertNull(cache.get("token-1"));
+        assertNotNull(cache.get("token-2"));
+    }
+
+    @Test
+    void put_FullCacheEvictsExpiredUsers() throws InterruptedException
+    {
+        // Arrange: a cache of one entry, holding a token that expires right away
+        TokenAuthenticationCache small = new TokenAuthenticationCache(60, 1, new SimpleMeterRegistry());
+        small.put("token-1", authentication("alice"), new Date(System.currentTimeMillis() + 20), small.stamp("alice"));
+        Thread.sleep(50);
+
+        // Act
+        small.put("token-2", authentication("bob"), new Date(System.currentTimeMillis() + 3_600_000), small.stamp("bob"));
+
+        // Assert
+        assertEquals(1, small.trackedUsers());
+        assertNotNull(small.get("token-2"));
+    }
+
+    private void cacheToken(String token, String username)
+    {
+        cache.put(token, authentication(username), new Date(System.currentTimeMillis() + 3_600_000), cache.stamp(username));
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username)
+    {
+        UserDetails user = new User(username, "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.entity.User;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationRegistryTest
+{
+    private UserRepository userRepository;
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp()
+    {
+        userRepository = mock(UserRepository.class);
+        registry = new TokenRevocationRegistry(new TokenAuthenticationCache(60, 100, new SimpleMeterRegistry()), userRepository);
+        registry.loadAtStartup();
+    }
+
+    @Test
+    void revokeAll_PersistsCutoffInWholeSeconds()
+    {
+        // Act
+        registry.revokeAll("alice");
+
+        // Assert
+        verify(userRepository).revokeTokens(eq("alice"), argThat(cutoff -> cutoff.getNano() == 0));
+    }
+
+    @Test
+    void isRevoked_OnlyTokensIssuedBeforeTheCutoffSecond()
+    {
+        // Arrange
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(List.of(revoked("alice", cutoff)));
+
+        // Act
+        registry.syncFromDatabase();
+
+        // Assert
+        assertTrue(registry.isRevoked("alice", Date.from(cutoff.minusSeconds(1))));
+        assertFalse(registry.isRevoked("alice", Date.from(cutoff)));
+        assertFalse(registry.isRevoked("bob", Date.from(cutoff.minusSeconds(1))));
+    }
+
+    @Test
+    void syncFromDatabase_KeepsTheLatestCutoff()
+    {
+        // Arrange: the sync overlap returns an older revocation after a newer local one
+        registry.revokeAll("alice");
+        Instant older = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(30);
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(List.of(revoked("alice", older)));
+
+        // Act
+        registry.syncFromDatabase();
+
+        // Assert
+        assertTrue(registry.isRevoked("alice", Date.from(older.plusSeconds(10))));
+    }
+
+    private User revoked(String username, Instant cutoff)
+    {
+        User user = new User();
+        user.setUsername(username);
+        user.setTokensRevokedBefore(cutoff);
+        return user;
+    }
+}
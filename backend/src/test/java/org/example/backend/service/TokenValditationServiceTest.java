@@ -1,11 +1,18 @@
 package org.example.backend.service;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.AuthenticatedUser;
+import org.example.backend.repository.UserRepository;
 import org.example.backend.util.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,9 +21,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TokenValidationServiceTest
@@ -28,6 +37,12 @@ class TokenValidationServiceTest
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Spy
+    private TokenAuthenticationCache authenticationCache = new TokenAuthenticationCache(60, 100, new SimpleMeterRegistry());
+
+    @Spy
+    private TokenRevocationRegistry revocationRegistry = new TokenRevocationRegistry(authenticationCache, mock(UserRepository.class));
+
     @InjectMocks
     private TokenValidationService tokenValidationService;
 
@@ -48,9 +63,8 @@ class TokenValidationServiceTest
     void validateToken_Success()
     {
         // Arrange
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, username)).thenReturn(true);
 
         // Act
         UsernamePasswordAuthenticationToken result = tokenValidationService.validateToken(token);
@@ -66,14 +80,202 @@ class TokenValidationServiceTest
     void validateToken_InvalidToken()
     {
         // Arrange
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.parseVerifiedClaims(token)).thenThrow(new JwtException("Invalid token"));
+
+        // Act
+        UsernamePasswordAuthenticationToken result = tokenValidationService.validateToken(token);
+
+        // Assert
+        assertNull(result);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void validateToken_CachedTokenSkipsUserLookup()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+
+        // Act
+        UsernamePasswordAuthenticationToken first = tokenValidationService.validateToken(token);
+        UsernamePasswordAuthenticationToken second = tokenValidationService.validateToken(token);
+
+        // Assert
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername(username);
+    }
+
+    @Test
+    void validateToken_InvalidatedUserIsLoadedAgain()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        tokenValidationService.validateToken(token);
+
+        // Act
+        authenticationCache.invalidateUser(username);
+        tokenValidationService.validateToken(token);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername(username);
+    }
+
+    @Test
+    void validateToken_UnchangedCredentialsKeepCache()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        tokenValidationService.validateToken(token);
+
+        // Act
+        authenticationCache.credentialsSaved(username, "password", List.of("ROLE_USER"));
+        authenticationCache.invalidateUser("otheruser");
+        tokenValidationService.validateToken(token);
+
+        // Assert
+        verify(userDetailsService, times(1)).loadUserByUsername(username);
+    }
+
+    @Test
+    void validateToken_ChangedRolesAreLoadedAgain()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        tokenValidationService.validateToken(token);
+
+        // Act
+        authenticationCache.credentialsSaved(username, "password", List.of("ROLE_USER", "ROLE_ADMIN"));
+        tokenValidationService.validateToken(token);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername(username);
+    }
+
+    @Test
+    void validateToken_ConcurrentInvalidationIsNotCached()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
+        when(userDetailsService.loadUserByUsername(username)).thenAnswer(invocation ->
+        {
+            authenticationCache.invalidateUser(username);
+            return userDetails;
+        });
+
+        // Act
+        tokenValidationService.validateToken(token);
+        tokenValidationService.validateToken(token);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername(username);
+    }
+
+    @Test
+    void validateToken_ExpiredTokenIsNotCached()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() - 1000)));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, username)).thenReturn(false);
+
+        // Act
+        tokenValidationService.validateToken(token);
+        tokenValidationService.validateToken(token);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername(username);
+    }
+
+    @Test
+    void validateToken_ParsesTokenOnce()
+    {
+        // Arrange
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3_600_000)));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+
+        // Act
+        tokenValidationService.validateToken(token);
+
+        // Assert
+        verify(jwtUtil, times(1)).parseVerifiedClaims(token);
+        verifyNoMoreInteractions(jwtUtil);
+    }
+
+    @Test
+    void validateToken_StatelessTokenSkipsUserLookup()
+    {
+        // Arrange
+        Claims claims = Jwts.claims()
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .add(JwtUtil.USER_ID_CLAIM, "user1")
+                .add(JwtUtil.ROLES_CLAIM, List.of("USER", "ADMIN"))
+                .build();
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claims);
+        when(jwtUtil.isStatelessPrincipal()).thenReturn(true);
+
+        // Act
+        UsernamePasswordAuthenticationToken result = tokenValidationService.validateToken(token);
+
+        // Assert
+        assertNotNull(result);
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, result.getPrincipal());
+        assertEquals("user1", principal.getId());
+        assertEquals(username, result.getName());
+        assertTrue(result.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void validateToken_RevokedTokenIsRejected()
+    {
+        // Arrange
+        Claims claims = Jwts.claims()
+                .subject(username)
+                .issuedAt(new Date(System.currentTimeMillis() - 60_000))
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .build();
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claims);
+        revocationRegistry.revokeAll(username);
 
         // Act
         UsernamePasswordAuthenticationToken result = tokenValidationService.validateToken(token);
 
         // Assert
         assertNull(result);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void validateToken_LoginInSameSecondAsRevocationIsAccepted()
+    {
+        // Arrange: iat only has whole seconds, so the new token may carry the revocation's second
+        revocationRegistry.revokeAll(username);
+        Claims claims = Jwts.claims()
+                .subject(username)
+                .issuedAt(new Date(System.currentTimeMillis() / 1000 * 1000))
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .build();
+        when(jwtUtil.parseVerifiedClaims(token)).thenReturn(claims);
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+
+        // Act
+        UsernamePasswordAuthenticationToken result = tokenValidationService.validateToken(token);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(username, result.getName());
+    }
+
+    private Claims claimsExpiringAt(Date expiration)
+    {
+        return Jwts.claims()
+                .subject(username)
+                .expiration(expiration)
+                .build();
     }
-}
\ No newline at end of file
+}
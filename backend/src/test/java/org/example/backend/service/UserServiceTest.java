@@ -1,16 +1,24 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.backend.dto.UserStatsUpdate;
+import org.example.backend.dto.UserSummary;
 import org.example.backend.entity.User;
 import org.example.backend.exceptions.UserAlreadyExistsException;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.util.LevelCurve;
+import org.example.backend.util.LinearLevelCurve;
+import org.example.backend.util.OptimisticRetry;
+import org.example.backend.util.PersistenceVerification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,6 +27,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,7 +43,20 @@ class UserServiceTest
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private UserStatsCoalescer userStatsCoalescer;
+
+    @Spy
+    private OptimisticRetry optimisticRetry = new OptimisticRetry(3, 0, 0, new SimpleMeterRegistry());
+
+    @Spy
+    private LevelCurve levelCurve = new LinearLevelCurve(100);
+
+    @Spy
+    private PersistenceVerification persistenceVerification =
+            new PersistenceVerification(PersistenceVerification.Mode.OFF, 1, new SimpleMeterRegistry());
+
+    @Spy
+    private UserSummaryCache userSummaryCache = new UserSummaryCache(60, 100, new SimpleMeterRegistry());
 
     @InjectMocks
     private UserService userService;
@@ -72,8 +95,8 @@ class UserServiceTest
         assertEquals("test@example.com", result.getEmail());
         assertEquals("hashedPassword", result.getPassword());
         verify(userRepository).save(any(User.class));
-        verify(messagingTemplate).convertAndSend(
-                eq("/topic/user-stats/testuser"),
+        verify(userStatsCoalescer).publish(
+                eq("testuser"),
                 any(UserStatsUpdate.class)
         );
     }
@@ -103,6 +126,24 @@ class UserServiceTest
         );
     }
 
+    @Test
+    void registerUser_ConcurrentRegistration_MapsDuplicateKey()
+    {
+        // Arrange: the checks pass, but another registration inserts the same email first
+        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("password")).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: Questify.users index: users_email_unique dup key"));
+
+        // Act & Assert
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () ->
+                userService.registerUser("testuser", "test@example.com", "password")
+        );
+        assertEquals("Email is already taken.", ex.getMessage());
+        verify(userStatsCoalescer, never()).publish(anyString(), any(UserStatsUpdate.class));
+    }
+
     @Test
     void loadUserByUsername_Success()
     {
@@ -136,14 +177,68 @@ class UserServiceTest
     void getUserBasicDetails_ByUsername_Success()
     {
         // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findSummaryByUsername("testuser")).thenReturn(Optional.of(UserSummary.of(testUser)));
 
         // Act
-        User result = userService.getUserBasicDetails("testuser");
+        UserSummary result = userService.getUserBasicDetails("testuser");
 
         // Assert
         assertNotNull(result);
         assertEquals("testId", result.getId());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void getUserBasicDetails_CachedAcrossIdAndUsername()
+    {
+        // Arrange
+        String id = "507f1f77bcf86cd799439011";
+        testUser.setId(id);
+        when(userRepository.findSummaryByUsername("testuser")).thenReturn(Optional.of(UserSummary.of(testUser)));
+
+        // Act
+        userService.getUserBasicDetails("testuser");
+        userService.getUserBasicDetails("testuser");
+        UserSummary byId = userService.getUserBasicDetails(id);
+
+        // Assert
+        assertEquals("testuser", byId.getUsername());
+        verify(userRepository, times(1)).findSummaryByUsername("testuser");
+        verify(userRepository, never()).findSummaryById(anyString());
+    }
+
+    @Test
+    void saveUser_InvalidatesCachedSummary()
+    {
+        // Arrange
+        when(userRepository.findSummaryByUsername("testuser"))
+                .thenAnswer(i -> Optional.of(UserSummary.of(testUser)));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        userService.getUserBasicDetails("testuser");
+
+        // Act
+        testUser.setLevel(5);
+        userService.saveUser(testUser);
+        UserSummary result = userService.getUserBasicDetails("testuser");
+
+        // Assert
+        assertEquals(5, result.getLevel());
+        verify(userRepository, times(2)).findSummaryByUsername("testuser");
+    }
+
+    @Test
+    void getUserBasicDetails_ById_UsesProjection()
+    {
+        // Arrange
+        String id = "507f1f77bcf86cd799439011";
+        when(userRepository.findSummaryById(id)).thenReturn(Optional.of(UserSummary.of(testUser)));
+
+        // Act
+        UserSummary result = userService.getUserBasicDetails(id);
+
+        // Assert
+        assertEquals("testuser", result.getUsername());
+        verify(userRepository, never()).findById(anyString());
     }
 
     @Test
@@ -160,8 +255,8 @@ class UserServiceTest
         // Assert
         assertEquals(2, result.getLevel());
         assertEquals(50, result.getExperience()); // (50 + 100) - 100 = 50 after level up
-        verify(messagingTemplate).convertAndSend(
-                eq("/topic/user-stats/testuser"),
+        verify(userStatsCoalescer).publish(
+                eq("testuser"),
                 any(UserStatsUpdate.class)
         );
     }
@@ -182,12 +277,100 @@ class UserServiceTest
         assertEquals(0, result.getExperience()); // (90 + 210) - 100 - 200 = 0
     }
 
+    @Test
+    void updateUser_RetriesOnVersionConflict()
+    {
+        // Arrange
+        User concurrentlyUpdated = new User();
+        concurrentlyUpdated.setId("testId");
+        concurrentlyUpdated.setUsername("testuser");
+        concurrentlyUpdated.setGold(50);
+
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(testUser))
+                .thenReturn(Optional.of(concurrentlyUpdated));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new OptimisticLockingFailureException("version conflict"))
+                .thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        User result = userService.updateUser("testuser", user -> user.setGold(user.getGold() + 100));
+
+        // Assert
+        assertEquals(150, result.getGold()); // Re-applied on the fresh copy, no lost update
+        verify(userRepository, times(2)).save(any(User.class));
+    }
+
+    @Test
+    void updateUser_GivesUpAfterMaxAttempts()
+    {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new OptimisticLockingFailureException("version conflict"));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () ->
+                userService.updateUser("testuser", user -> user.setGold(100))
+        );
+        verify(userRepository, times(3)).save(any(User.class));
+    }
+
+    @Test
+    void grantBossReward_AppliesRewardInOneUpdate()
+    {
+        // Arrange
+        testUser.setExperience(80);
+        testUser.setVersion(4L);
+        User rewarded = new User();
+        rewarded.setUsername("testuser");
+        rewarded.setLevel(2);
+        rewarded.setExperience(30);
+        rewarded.setGold(100);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.applyReward("testId", 4L, 2, 30, 100, "Boss Slayer")).thenReturn(rewarded);
+
+        // Act
+        UserService.RewardGrant result = userService.grantBossReward("testuser", 50, 100, "Boss Slayer");
+
+        // Assert
+        assertSame(rewarded, result.user());
+        assertTrue(result.causedLevelUp());
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(userStatsCoalescer); // The caller sends the single stats update
+    }
+
+    @Test
+    void grantBossReward_RetriesWhenUserChanged()
+    {
+        // Arrange
+        testUser.setVersion(1L);
+        User concurrentlyUpdated = new User();
+        concurrentlyUpdated.setId("testId");
+        concurrentlyUpdated.setUsername("testuser");
+        concurrentlyUpdated.setLevel(1);
+        concurrentlyUpdated.setExperience(60);
+        concurrentlyUpdated.setVersion(2L);
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(testUser))
+                .thenReturn(Optional.of(concurrentlyUpdated));
+        when(userRepository.applyReward("testId", 1L, 1, 50, 100, "Boss Slayer")).thenReturn(null);
+        when(userRepository.applyReward("testId", 2L, 2, 10, 100, "Boss Slayer")).thenReturn(concurrentlyUpdated);
+
+        // Act
+        UserService.RewardGrant result = userService.grantBossReward("testuser", 50, 100, "Boss Slayer");
+
+        // Assert
+        assertNotNull(result.user());
+        verify(userRepository, times(2)).applyReward(eq("testId"), any(), anyInt(), anyInt(), eq(100), eq("Boss Slayer"));
+    }
+
     @Test
     void getUserCurrentBossId_Success()
     {
         // Arrange
         testUser.setCurrentBossId("boss1");
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findSummaryByUsername("testuser")).thenReturn(Optional.of(UserSummary.of(testUser)));
 
         // Act
         String result = userService.getUserCurrentBossId("testuser");
@@ -201,7 +384,7 @@ class UserServiceTest
     {
         // Arrange
         testUser.setCurrentBossId(null);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findSummaryByUsername("testuser")).thenReturn(Optional.of(UserSummary.of(testUser)));
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () ->
@@ -214,7 +397,6 @@ class UserServiceTest
     {
         // Arrange
         when(userRepository.save(testUser)).thenReturn(testUser);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         // Act
         User result = userService.saveUser(testUser);
@@ -223,5 +405,7 @@ class UserServiceTest
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
         verify(userRepository).save(testUser);
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, never()).findByUsername(anyString());
     }
 }
\ No newline at end of file
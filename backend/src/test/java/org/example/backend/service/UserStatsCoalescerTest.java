@@ -0,0 +1,107 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.UserStatsUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsCoalescerTest
+{
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void publish_WithinWindow_SendsLatestOnce()
+    {
+        // Arrange
+        UserStatsCoalescer coalescer = new UserStatsCoalescer(messagingTemplate, 50, meterRegistry);
+
+        // Act
+        coalescer.publish("testuser", new UserStatsUpdate("user1", 100, 1));
+        coalescer.publish("testuser", new UserStatsUpdate("user1", 200, 2));
+        coalescer.publish("testuser", new UserStatsUpdate("user1", 300, 2));
+
+        // Assert
+        ArgumentCaptor<UserStatsUpdate> update = ArgumentCaptor.forClass(UserStatsUpdate.class);
+        verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/topic/user-stats/testuser"), update.capture());
+        assertEquals(300, update.getValue().getGold());
+        assertEquals(2.0, meterRegistry.counter("questify.websocket.user-stats.merged").count());
+        assertEquals(1.0, meterRegistry.counter("questify.websocket.user-stats.sent").count());
+    }
+
+    @Test
+    void publish_DifferentUsers_NotMerged()
+    {
+        // Arrange
+        UserStatsCoalescer coalescer = new UserStatsCoalescer(messagingTemplate, 60_000, meterRegistry);
+
+        // Act
+        coalescer.publish("alice", new UserStatsUpdate("user1", 100, 1));
+        coalescer.publish("bob", new UserStatsUpdate("user2", 100, 1));
+        coalescer.flushAll();
+
+        // Assert
+        verify(messagingTemplate).convertAndSend(eq("/topic/user-stats/alice"), any(UserStatsUpdate.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/user-stats/bob"), any(UserStatsUpdate.class));
+        assertEquals(0.0, meterRegistry.counter("questify.websocket.user-stats.merged").count());
+    }
+
+    @Test
+    void publish_WithoutWindow_SendsImmediately()
+    {
+        // Arrange
+        UserStatsCoalescer coalescer = new UserStatsCoalescer(messagingTemplate, 0, meterRegistry);
+
+        // Act
+        coalescer.publish("testuser", new UserStatsUpdate("user1", 100, 1));
+        coalescer.publish("testuser", new UserStatsUpdate("user1", 200, 1));
+
+        // Assert
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/user-stats/testuser"), any(UserStatsUpdate.class));
+    }
+
+    @Test
+    void publish_BrokerFailure_CountsDropped()
+    {
+        // Arrange
+        UserStatsCoalescer coalescer = new UserStatsCoalescer(messagingTemplate, 0, meterRegistry);
+        doThrow(new MessageDeliveryException("broker unavailable"))
+                .when(messagingTemplate).convertAndSend(anyString(), any(UserStatsUpdate.class));
+
+        // Act
+        coalescer.publish("testuser", new UserStatsUpdate("user1", 100, 1));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.counter("questify.websocket.user-stats.dropped").count());
+        assertEquals(0.0, meterRegistry.counter("questify.websocket.user-stats.sent").count());
+    }
+
+    @Test
+    void constructor_NegativeWindow_Rejected()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserStatsCoalescer(messagingTemplate, -1, meterRegistry));
+    }
+}
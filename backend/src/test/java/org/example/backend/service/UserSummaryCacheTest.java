@@ -0,0 +1,140 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.UserSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSummaryCacheTest
+{
+
+    private static final String USER_ID = "507f1f77bcf86cd799439011";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserSummary> loader = identifier ->
+    {
+        loads.incrementAndGet();
+        return new UserSummary(USER_ID, "testuser", 3, 40, 100, "boss1");
+    };
+
+    @AfterEach
+    void tearDown()
+    {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_SharesEntryBetweenUsernameAndId()
+    {
+        // Arrange
+        UserSummaryCache cache = new UserSummaryCache(60, 100, meterRegistry);
+
+        // Act
+        cache.get("testuser", loader);
+        UserSummary byId = cache.get(USER_ID, loader);
+
+        // Assert
+        assertEquals("testuser", byId.getUsername());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("questify.user.cache").tag("tier", "shared").counter().count());
+    }
+
+    @Test
+    void get_MemoizesWithinRequestWhenSharedCacheDisabled()
+    {
+        // Arrange
+        UserSummaryCache cache = new UserSummaryCache(0, 100, meterRegistry);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Act
+        cache.get("testuser", loader);
+        cache.get("testuser", loader);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        cache.get("testuser", loader);
+
+        // Assert: the second request starts with an empty memo
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("questify.user.cache").tag("tier", "request").counter().count());
+    }
+
+    @Test
+    void invalidate_ReloadsOnNextLookup()
+    {
+        // Arrange
+        UserSummaryCache cache = new UserSummaryCache(60, 100, meterRegistry);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        cache.get("testuser", loader);
+
+        // Act
+        cache.invalidate(USER_ID, "testuser");
+        cache.get("testuser", loader);
+        cache.get(USER_ID, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_OtherUserDoesNotDiscardConcurrentLoad()
+    {
+        // Arrange: user B is invalidated while user A is being loaded
+        UserSummaryCache cache = new UserSummaryCache(60, 100, meterRegistry);
+        Function<String, UserSummary> loadingWhileOtherUserChanges = identifier ->
+        {
+            cache.invalidate("507f1f77bcf86cd799439012", "otheruser");
+            return loader.apply(identifier);
+        };
+
+        // Act
+        cache.get("testuser", loadingWhileOtherUserChanges);
+        cache.get("testuser", loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_SameUserDiscardsConcurrentLoad()
+    {
+        // Arrange
+        UserSummaryCache cache = new UserSummaryCache(60, 100, meterRegistry);
+        Function<String, UserSummary> loadingWhileUserChanges = identifier ->
+        {
+            cache.invalidate(USER_ID, "testuser");
+            return loader.apply(identifier);
+        };
+
+        // Act
+        cache.get("testuser", loadingWhileUserChanges);
+        cache.get("testuser", loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_DoesNotCacheFailedLookups()
+    {
+        // Arrange
+        UserSummaryCache cache = new UserSummaryCache(60, 100, meterRegistry);
+        Function<String, UserSummary> missing = identifier ->
+        {
+            loads.incrementAndGet();
+            throw new IllegalArgumentException("User with username '" + identifier + "' not found.");
+        };
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cache.get("ghost", missing));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("ghost", missing));
+        assertEquals(2, loads.get());
+    }
+}
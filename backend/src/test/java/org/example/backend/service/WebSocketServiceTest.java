@@ -1,15 +1,16 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.backend.dto.UserStatsUpdate;
+import org.example.backend.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
@@ -20,31 +21,33 @@ class WebSocketServiceTest
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
-    @InjectMocks
     private WebSocketService webSocketService;
 
-    private String username;
-    private int gold;
-    private int level;
+    private User user;
 
     @BeforeEach
     void setUp()
     {
-        username = "testUser";
-        gold = 100;
-        level = 2;
+        // Without a window every update is published right away
+        webSocketService = new WebSocketService(new UserStatsCoalescer(messagingTemplate, 0, new SimpleMeterRegistry()));
+        user = new User();
+        user.setId("user1");
+        user.setUsername("testUser");
+        user.setGold(100);
+        user.setLevel(2);
     }
 
     @Test
     void sendUserStatsUpdate_Success()
     {
         // Act
-        webSocketService.sendUserStatsUpdate(username, gold, level);
+        webSocketService.sendUserStatsUpdate(user);
 
-        // Assert
+        // Assert: the payload carries the user ID, like the updates from UserService
         verify(messagingTemplate).convertAndSend(
-                eq("/topic/user-stats/" + username),
-                any(UserStatsUpdate.class)
+                eq("/topic/user-stats/testUser"),
+                argThat((UserStatsUpdate update) -> "user1".equals(update.getUserId())
+                        && update.getGold() == 100 && update.getLevel() == 2)
         );
     }
 }
\ No newline at end of file
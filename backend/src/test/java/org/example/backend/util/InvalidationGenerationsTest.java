@@ -0,0 +1,56 @@
+package org.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationGenerationsTest
+{
+
+    @Test
+    void invalidate_ChangesOnlyThatKey()
+    {
+        // Arrange
+        InvalidationGenerations generations = new InvalidationGenerations(10);
+        long alice = generations.stamp("alice");
+        long bob = generations.stamp("bob");
+
+        // Act
+        generations.invalidate("alice");
+
+        // Assert
+        assertNotEquals(alice, generations.stamp("alice"));
+        assertEquals(bob, generations.stamp("bob"));
+    }
+
+    @Test
+    void invalidate_StaysBoundedAndStillChangesDroppedKeys()
+    {
+        // Arrange
+        InvalidationGenerations generations = new InvalidationGenerations(2);
+        generations.invalidate("alice");
+        long alice = generations.stamp("alice");
+
+        // Act: the third key exceeds the bound and drops all tracked keys
+        generations.invalidate("bob");
+        generations.invalidate("carol");
+
+        // Assert
+        assertEquals(0, generations.size());
+        assertNotEquals(alice, generations.stamp("alice"));
+    }
+
+    @Test
+    void invalidateAll_ChangesEveryKey()
+    {
+        // Arrange
+        InvalidationGenerations generations = new InvalidationGenerations(10);
+        long untracked = generations.stamp("alice");
+
+        // Act
+        generations.invalidateAll();
+
+        // Assert
+        assertNotEquals(untracked, generations.stamp("alice"));
+    }
+}
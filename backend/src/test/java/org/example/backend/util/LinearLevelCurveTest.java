@@ -0,0 +1,85 @@
+package org.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinearLevelCurveTest
+{
+    private final LinearLevelCurve curve = new LinearLevelCurve(100);
+
+    @Test
+    void addExperience_MatchesLevelUpLoop()
+    {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++)
+        {
+            int level = 1 + random.nextInt(200);
+            int experience = random.nextInt(100 * level);
+            int gained = random.nextInt(5_000_000);
+
+            // Act
+            LevelCurve.LevelProgress result = curve.addExperience(level, experience, gained);
+
+            // Assert
+            LevelCurve.LevelProgress expected = levelUpLoop(level, experience, gained);
+            assertEquals(expected, result, "level=" + level + ", experience=" + experience + ", gained=" + gained);
+        }
+    }
+
+    @Test
+    void addExperience_ExactLevelBoundaries()
+    {
+        assertEquals(new LevelCurve.LevelProgress(2, 0), curve.addExperience(1, 0, 100));
+        assertEquals(new LevelCurve.LevelProgress(1, 99), curve.addExperience(1, 0, 99));
+        assertEquals(new LevelCurve.LevelProgress(3, 0), curve.addExperience(1, 90, 210));
+    }
+
+    @Test
+    void addExperience_NegativeExperienceNeverLevelsDown()
+    {
+        LevelCurve.LevelProgress result = curve.addExperience(5, 20, -50);
+
+        assertEquals(5, result.level());
+        assertEquals(-30, result.experience());
+    }
+
+    @Test
+    void addExperience_LargeGainDoesNotOverflow()
+    {
+        LevelCurve.LevelProgress result = curve.addExperience(1, 0, Integer.MAX_VALUE);
+
+        assertEquals(levelUpLoop(1, 0, Integer.MAX_VALUE), result);
+    }
+
+    @Test
+    void levelForTotalXp_ClosedFormMatchesBinarySearch()
+    {
+        // Arrange: same curve, but with the default binary-search inverse
+        LevelCurve searched = curve::totalXpForLevel;
+
+        for (long totalXp = 0; totalXp < 2_000_000; totalXp += 97)
+        {
+            // Act & Assert
+            assertEquals(searched.levelForTotalXp(totalXp), curve.levelForTotalXp(totalXp), "totalXp=" + totalXp);
+        }
+    }
+
+    // The level-up loop previously used by UserService, kept as the reference behaviour
+    private LevelCurve.LevelProgress levelUpLoop(int level, int experience, long gained)
+    {
+        long xp = experience + gained;
+        long xpForNextLevel = 100L * level;
+        while (xp >= xpForNextLevel)
+        {
+            xp -= xpForNextLevel;
+            level++;
+            xpForNextLevel = 100L * level;
+        }
+        return new LevelCurve.LevelProgress(level, (int) xp);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.backend.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceVerificationTest
+{
+
+    @Test
+    void verify_OffNeverRereads()
+    {
+        // Arrange
+        PersistenceVerification verification =
+                new PersistenceVerification(PersistenceVerification.Mode.OFF, 1, new SimpleMeterRegistry());
+        AtomicInteger reads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 10; i++)
+        {
+            verification.verify("user", () -> Optional.of(reads.incrementAndGet()), stored -> true);
+        }
+
+        // Assert
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    void verify_SampledRereadsOneInN()
+    {
+        // Arrange
+        PersistenceVerification verification =
+                new PersistenceVerification(PersistenceVerification.Mode.SAMPLED, 5, new SimpleMeterRegistry());
+        AtomicInteger reads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 20; i++)
+        {
+            verification.verify("user", () -> Optional.of(reads.incrementAndGet()), stored -> true);
+        }
+
+        // Assert
+        assertEquals(4, reads.get());
+    }
+
+    @Test
+    void verify_RecordsOutcomeAsMetric()
+    {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PersistenceVerification verification =
+                new PersistenceVerification(PersistenceVerification.Mode.ALWAYS, 1, registry);
+
+        // Act
+        verification.verify("user", () -> Optional.of("stored"), "stored"::equals);
+        verification.verify("user", () -> Optional.of("stale"), "stored"::equals);
+        verification.verify("user", Optional::empty, stored -> true);
+
+        // Assert
+        assertEquals(1, registry.get("questify.persistence.verification").tag("outcome", "match").counter().count());
+        assertEquals(1, registry.get("questify.persistence.verification").tag("outcome", "mismatch").counter().count());
+        assertEquals(1, registry.get("questify.persistence.verification").tag("outcome", "missing").counter().count());
+    }
+
+    @Test
+    void constructor_RejectsSampleRateBelowOne()
+    {
+        assertThrows(IllegalArgumentException.class, () ->
+                new PersistenceVerification(PersistenceVerification.Mode.SAMPLED, 0, new SimpleMeterRegistry()));
+    }
+}
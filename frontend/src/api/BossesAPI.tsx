@@ -67,6 +67,27 @@ export const attackBoss = async (damage: number): Promise<BossResponse> =>
     return response.data; // Return the updated boss and any related message
 };
 
+export interface HitResult
+{
+    damage: number;
+    remainingHealth: number;
+    landed: boolean;
+    defeatingHit: boolean;
+}
+
+export interface BatchAttackResponse
+{
+    boss: BossResponse;
+    hits: HitResult[];
+}
+
+// Attack a boss with a combo of hits in a single request
+export const attackBossBatch = async (hits: number[]): Promise<BatchAttackResponse> =>
+{
+    const response = await apiClient.put('/api/boss/attack/batch', {hits});
+    return response.data; // Return the updated boss and the result of every hit
+};
+
 // Fetch the active boss for the user
 export const getActiveBoss = async (): Promise<BossResponse> => {
     const response = await apiClient.get('/api/boss/active');